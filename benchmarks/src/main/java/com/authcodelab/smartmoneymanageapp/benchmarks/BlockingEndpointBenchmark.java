@@ -0,0 +1,122 @@
+package com.authcodelab.smartmoneymanageapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput and latency of the blocking request paths against a running backend, used to compare
+ * the platform-thread and virtual-thread execution modes (spring.threads.virtual.enabled).
+ * <ul>
+ *   <li>{@code dashboard} - GET /dashboard: two JDBC round trips (recent transactions, balance)</li>
+ *   <li>{@code filter} - POST /filters: one JDBC query over the current month's expenses</li>
+ *   <li>{@code login} - POST /login: user lookup plus a BCrypt check (CPU bound)</li>
+ * </ul>
+ * Sample mode reports throughput and the latency percentiles (p50/p90/p99/p99.9) per endpoint.
+ * The client runs many more concurrent callers than Tomcat's default 200 worker threads, so in
+ * platform mode requests queue behind the pool while in virtual mode the JDBC pool becomes the limit.
+ * <p>
+ * Start the app twice (VIRTUAL_THREADS_ENABLED=false / true) against the same seeded database, then:
+ * {@code java -Dbench.baseUrl=http://localhost:8081/api/v1.0 -Dbench.email=... -Dbench.password=...
+ * -jar benchmarks/target/benchmarks.jar BlockingEndpointBenchmark}
+ * (the account must be activated; add {@code -t 400} to change the number of callers).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class BlockingEndpointBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String FILTER_BODY =
+            "{\"type\":\"expense\",\"sortField\":\"date\",\"sortOrder\":\"desc\"}";
+
+    private HttpClient client;
+    private String baseUrl;
+    private String loginBody;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        baseUrl = System.getProperty("bench.baseUrl", "http://localhost:8081/api/v1.0");
+        loginBody = "{\"email\":\"" + System.getProperty("bench.email", "bench@example.com")
+                + "\",\"password\":\"" + System.getProperty("bench.password", "password") + "\"}";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        HttpResponse<String> response = client.send(post("/login", loginBody), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed (" + response.statusCode() + "): " + response.body());
+        }
+        authorization = "Bearer " + matcher.group(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int dashboard() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/dashboard"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        return call(request);
+    }
+
+    @Benchmark
+    public int filter() throws IOException, InterruptedException {
+        return call(HttpRequest.newBuilder(URI.create(baseUrl + "/filters"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(FILTER_BODY))
+                .build());
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return call(post("/login", loginBody));
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Errors must not count as fast successes
+    private int call(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,96 @@
+package com.authcodelab.smartmoneymanageapp.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens/sec for the request authentication path in JwtUtill / JwtRequestFilter.
+ * <ul>
+ *   <li>{@code perCallKeyAndParser} - the old behaviour: every parse derived the key and built a
+ *   parser, and a request parsed the token three times (subject, validation, expiry)</li>
+ *   <li>{@code cachedParserParseOnce} - the current behaviour: key and parser built once,
+ *   token parsed once per request and the claims reused</li>
+ * </ul>
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar JwtParsingBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    // Same default as jwt.secret in JwtUtill
+    private static final String SECRET = "YXV0aG5tb25leW1hbmFnZWFwcGF1dGhubW9uZXltYW5hZ2VhcHBzZWNyZXRrZXk=";
+    private static final String EMAIL = "bench@example.com";
+
+    private JwtParser cachedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Key key = deriveKey();
+        cachedParser = Jwts.parserBuilder().setSigningKey(key).build();
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .setClaims(Map.of("pid", 42L, "ver", 0))
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.HOURS.toMillis(10)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean perCallKeyAndParser() {
+        String subject = parsePerCall(token).getSubject();
+        boolean subjectMatches = parsePerCall(token).getSubject().equals(subject);
+        boolean notExpired = parsePerCall(token).getExpiration().after(new Date());
+        return subjectMatches && notExpired;
+    }
+
+    @Benchmark
+    public boolean cachedParserParseOnce() {
+        Claims claims = cachedParser.parseClaimsJws(token).getBody();
+        return claims.getSubject().equals(EMAIL) && claims.getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public Claims cachedParserSingleParse() {
+        return cachedParser.parseClaimsJws(token).getBody();
+    }
+
+    private static Claims parsePerCall(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(deriveKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static Key deriveKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,91 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opt-in read replicas (money.manager.datasource.replicas.enabled): replaces the auto-configured
+ * DataSource with a primary pool (spring.datasource.*) plus one pool per replica URL, routed by
+ * ReplicaRoutingDataSource. Every pool reports hikaricp.* metrics tagged with its pool name.
+ * Requires spring.jpa.open-in-view=false: with open-in-view the request's EntityManager keeps the first
+ * connection it gets, so a read-only transaction at the start of a request would pin a replica connection
+ * for the read-write transactions that follow (e.g. the ledger rebuild on /dashboard).
+ */
+@Configuration
+@ConditionalOnProperty(name = "money.manager.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${money.manager.datasource.replicas.urls}") String urls,
+            @Value("${money.manager.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${money.manager.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${money.manager.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${money.manager.datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${money.manager.datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("money.manager.datasource.replicas.enabled requires "
+                    + "spring.jpa.open-in-view=false (JPA_OPEN_IN_VIEW=false): otherwise every transaction of a "
+                    + "request runs on the connection picked for the first one");
+        }
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikariSettings(environment, primary);
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException(
+                    "money.manager.datasource.replicas.enabled is set but money.manager.datasource.replicas.urls is empty");
+        }
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            bindHikariSettings(environment, replica);
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagSeconds, lagQuery, meterRegistry);
+    }
+
+    // The connection is fetched on the first statement, after the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Same pool tuning as the single-pool setup (spring.datasource.hikari.*)
+    private void bindHikariSettings(Environment environment, HikariDataSource dataSource) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+    }
+}
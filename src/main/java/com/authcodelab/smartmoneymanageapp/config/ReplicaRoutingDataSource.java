@@ -0,0 +1,148 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes @Transactional(readOnly = true) work to the replica pools (round robin) and everything
+ * else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the physical connection
+ * is chosen after the transaction's read-only flag is set (see ReplicaDataSourceConfig).
+ * <p>
+ * Replicas are checked every lag-check-ms; one whose replication lag exceeds max-lag-seconds, whose
+ * replication is stopped, or which cannot be reached is skipped until a later check passes, and
+ * reads fall back to the primary when no replica is available.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbacks;
+
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final Counter reads;
+        // Unavailable until the first check passes
+        private volatile boolean available;
+        private volatile double lagSeconds = -1;
+
+        Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+            this.reads = meterRegistry.counter("money.manager.datasource.routed", "target", name, "kind", "read");
+            meterRegistry.gauge("money.manager.datasource.replica.lag.seconds", Tags.of("pool", name),
+                    this, r -> r.lagSeconds);
+            meterRegistry.gauge("money.manager.datasource.replica.available", Tags.of("pool", name),
+                    this, r -> r.available ? 1 : 0);
+        }
+    }
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    long maxLagSeconds, String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.writes = meterRegistry.counter("money.manager.datasource.routed", "target", PRIMARY, "kind", "write");
+        this.fallbacks = meterRegistry.counter("money.manager.datasource.routed", "target", PRIMARY, "kind", "fallback");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${money.manager.datasource.replicas.lag-check-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try {
+                replica.lagSeconds = measureLag(replica.dataSource);
+                replica.available = replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.lagSeconds = -1;
+                replica.available = false;
+                log.debug("Replica {} check failed: {}", replica.name, e.getMessage());
+            }
+            if (wasAvailable != replica.available) {
+                log.warn("Replica {} is now {} (lag: {}s, max: {}s)", replica.name,
+                        replica.available ? "in rotation" : "out of rotation", replica.lagSeconds, maxLagSeconds);
+            }
+        }
+    }
+
+    // Seconds behind the source, or -1 when replication is not running
+    private double measureLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                // No lag query (e.g. local embedded databases): reachability only
+                return connection.isValid(2) ? 0 : -1;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    // Not configured as a replica (a static copy): never behind
+                    return 0;
+                }
+                // MySQL 8.0.22+ reports Seconds_Behind_Source, older versions Seconds_Behind_Master
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    if (metaData.getColumnLabel(column).startsWith("Seconds_Behind")) {
+                        long lag = resultSet.getLong(column);
+                        return resultSet.wasNull() ? -1 : lag;
+                    }
+                }
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+}
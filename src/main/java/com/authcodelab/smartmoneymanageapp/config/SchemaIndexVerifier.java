@@ -0,0 +1,101 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies at startup that the indexes created by the Flyway migrations
+ * (db/migration) exist, so a missed migration shows up before the first slow query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier {
+
+    private static final Map<String, List<String>> REQUIRED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        REQUIRED_INDEXES.put("tbl_incomes", List.of(
+                "idx_incomes_profile_date_created",
+                "idx_incomes_profile_category_date",
+                "ft_incomes_name"));
+        REQUIRED_INDEXES.put("tbl_expenses", List.of(
+                "idx_expenses_profile_date_created",
+                "idx_expenses_profile_category_date",
+                "idx_expenses_date_profile",
+                "ft_expenses_name"));
+        REQUIRED_INDEXES.put("tbl_categories", List.of(
+                "ft_categories_name"));
+    }
+
+    private final DataSource dataSource;
+
+    @Value("${money.manager.schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    @Value("${money.manager.schema.fail-on-missing-index:false}")
+    private boolean failOnMissingIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        if (!verifyIndexes) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> entry : REQUIRED_INDEXES.entrySet()) {
+                Set<String> existing = findIndexNames(metaData, connection.getCatalog(), entry.getKey());
+                for (String index : entry.getValue()) {
+                    if (!existing.contains(index.toLowerCase())) {
+                        missing.add(entry.getKey() + "." + index);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Could not verify database indexes: {}", e.getMessage());
+            return;
+        }
+
+        if (missing.isEmpty()) {
+            log.info("Verified required database indexes: {}", REQUIRED_INDEXES);
+            return;
+        }
+
+        String message = "Missing required database indexes: " + missing + ". Check the Flyway migration history.";
+        if (failOnMissingIndex) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private Set<String> findIndexNames(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase());
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -2,6 +2,7 @@ package com.authcodelab.smartmoneymanageapp.config;
 
 import com.authcodelab.smartmoneymanageapp.security.JwtRequestFilter;
 import com.authcodelab.smartmoneymanageapp.service.AppUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -39,6 +40,8 @@ public class SecurityConfig {
         httpSecurity.cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches finish a request (e.g. streamed exports) that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/register",
                                 "/login",
@@ -0,0 +1,111 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in N+1 guard: counts the SQL statements issued while serving each request and records them
+ * per route as money.manager.http.sql.statements{method,uri}. A list endpoint should show the same
+ * count whatever the number of rows (SqlStatementCountTest asserts this for the list and filter reads);
+ * a request above warn-threshold is logged. Work the request hands to the application task executor
+ * (async MVC, streamed exports) is counted as well and recorded when the async request completes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "money.manager.jpa.statement-count.enabled", havingValue = "true")
+@Slf4j
+public class SqlStatementCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Applied by Spring Boot to the application task executor, which runs async MVC work
+    @Bean
+    public TaskDecorator sqlStatementCountTaskDecorator() {
+        return SqlStatementCounter::propagate;
+    }
+
+    // Runs first, so statements made during authentication are counted too
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> sqlStatementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${money.manager.jpa.statement-count.warn-threshold:10}") int warnThreshold) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                AtomicInteger statements = SqlStatementCounter.start();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    SqlStatementCounter.stop();
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    String method = request.getMethod();
+                    String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+                    if (request.isAsyncStarted()) {
+                        // The body is still being produced on an executor thread
+                        request.getAsyncContext().addListener(new AsyncListener() {
+                            @Override
+                            public void onComplete(AsyncEvent event) {
+                                record(method, uri, statements.get());
+                            }
+
+                            @Override
+                            public void onTimeout(AsyncEvent event) {
+                            }
+
+                            @Override
+                            public void onError(AsyncEvent event) {
+                            }
+
+                            @Override
+                            public void onStartAsync(AsyncEvent event) {
+                            }
+                        });
+                    } else {
+                        record(method, uri, statements.get());
+                    }
+                }
+            }
+
+            private void record(String method, String uri, int statements) {
+                DistributionSummary.builder("money.manager.http.sql.statements")
+                        .description("SQL statements issued per request")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .record(statements);
+                if (statements > warnThreshold) {
+                    log.warn("{} {} issued {} SQL statements", method, uri, statements);
+                } else {
+                    log.debug("{} {} issued {} SQL statements", method, uri, statements);
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between start() and stop(),
+ * plus those of tasks handed to executors through propagate() (async request work such as streamed exports).
+ * Registered as the session factory's statement inspector by SqlStatementCountConfig.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    // Start counting on this thread; the returned counter also receives statements of propagated tasks
+    public static AtomicInteger start() {
+        AtomicInteger count = new AtomicInteger();
+        COUNT.set(count);
+        return count;
+    }
+
+    public static void stop() {
+        COUNT.remove();
+    }
+
+    // Wrap a task so its statements count towards the submitting thread's counter (if it has one)
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    COUNT.set(previous);
+                } else {
+                    COUNT.remove();
+                }
+            }
+        };
+    }
+}
@@ -1,37 +1,52 @@
 package com.authcodelab.smartmoneymanageapp.controller;
 
-import com.authcodelab.smartmoneymanageapp.dto.SendExpenseEmailRequest;
-import com.authcodelab.smartmoneymanageapp.dto.SendIncomeEmailRequest;
-import com.authcodelab.smartmoneymanageapp.service.EmailService;
+import com.authcodelab.smartmoneymanageapp.dto.EmailJobDTO;
+import com.authcodelab.smartmoneymanageapp.dto.ReportEmailRequest;
+import com.authcodelab.smartmoneymanageapp.service.ReportEmailJobService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/email")
 @RequiredArgsConstructor
 public class EmailController {
 
-    private final EmailService emailService;
+    private final ReportEmailJobService reportEmailJobService;
 
+    // Reports are built and sent in the background: 202 with a job id to poll
     @PostMapping("/income")
-    public ResponseEntity<?> sendIncomeReport(@RequestBody SendIncomeEmailRequest request) {
-        try {
-            emailService.sendIncomeReport(request.getRecipient(), request.getIncomes());
-            return ResponseEntity.ok().body("Income report sent successfully to " + request.getRecipient());
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Failed to send email: " + e.getMessage());
-        }
+    public ResponseEntity<?> sendIncomeReport(@Valid @RequestBody ReportEmailRequest request) {
+        return submit(ReportEmailJobService.TYPE_INCOME, request);
     }
 
     @PostMapping("/expense")
-    public ResponseEntity<?> sendExpenseReport(@RequestBody SendExpenseEmailRequest request) {
+    public ResponseEntity<?> sendExpenseReport(@Valid @RequestBody ReportEmailRequest request) {
+        return submit(ReportEmailJobService.TYPE_EXPENSE, request);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<EmailJobDTO> getJob(@PathVariable String id) {
+        EmailJobDTO job = reportEmailJobService.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    private ResponseEntity<?> submit(String type, ReportEmailRequest request) {
         try {
-            emailService.sendExpenseReport(request.getRecipient(), request.getExpenses());
-            return ResponseEntity.ok().body("Expense report sent successfully to " + request.getRecipient());
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Failed to send email: " + e.getMessage());
+            EmailJobDTO job = reportEmailJobService.submit(type, request);
+            return ResponseEntity.accepted()
+                    .header("Location", "/api/v1.0/email/jobs/" + job.getJobId())
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "30")
+                    .body(Map.of("status", "error",
+                            "message", "Too many reports are being generated, please try again shortly"));
         }
     }
 }
-
@@ -1,15 +1,17 @@
 package com.authcodelab.smartmoneymanageapp.controller;
 
 import com.authcodelab.smartmoneymanageapp.service.ExcelService;
-import com.authcodelab.smartmoneymanageapp.service.ExpenseService;
-import com.authcodelab.smartmoneymanageapp.service.IncomeService;
+import com.authcodelab.smartmoneymanageapp.service.ProfileService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/excel")
@@ -17,20 +19,39 @@ import java.io.IOException;
 public class ExcelController {
 
     private final ExcelService excelService;
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
+    private final ProfileService profileService;
 
+    // Both downloads default to the current month; startDate/endDate widen the range
     @GetMapping("/download/income")
-    public void downloadIncomeExcel(HttpServletResponse response) throws IOException {
+    public void downloadIncomeExcel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
+        Long profileId = profileService.getCurrentProfile().getId();
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader("Content-Disposition", "attachment; filename=incomes.xlsx");
-        excelService.writeIncomesToExcel(response.getOutputStream(), incomeService.getCurrentMonthExpensesForCurrentUser());
+        excelService.writeIncomesToExcel(response.getOutputStream(), profileId,
+                startOrMonthStart(startDate), endOrMonthEnd(endDate));
     }
 
     @GetMapping("/download/expense")
-    public void downloadExpenseExcel(HttpServletResponse response) throws IOException {
+    public void downloadExpenseExcel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
+        Long profileId = profileService.getCurrentProfile().getId();
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader("Content-Disposition", "attachment; filename=expenses.xlsx");
-        excelService.writeExpensesToExcel(response.getOutputStream(), expenseService.getCurrentMonthExpensesForCurrentUser());
+        excelService.writeExpensesToExcel(response.getOutputStream(), profileId,
+                startOrMonthStart(startDate), endOrMonthEnd(endDate));
+    }
+
+    private LocalDate startOrMonthStart(LocalDate startDate) {
+        return startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
+    }
+
+    private LocalDate endOrMonthEnd(LocalDate endDate) {
+        LocalDate now = LocalDate.now();
+        return endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth());
     }
 }
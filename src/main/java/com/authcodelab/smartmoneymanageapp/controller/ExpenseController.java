@@ -1,12 +1,16 @@
 package com.authcodelab.smartmoneymanageapp.controller;
 
+import com.authcodelab.smartmoneymanageapp.dto.CursorPageDTO;
 import com.authcodelab.smartmoneymanageapp.dto.ExpenseDTO;
+import com.authcodelab.smartmoneymanageapp.dto.FilterDTO;
 import com.authcodelab.smartmoneymanageapp.service.ExpenseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,12 +26,34 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdExpense);
     }
 
+    // Bulk insert: a JSON array of expenses, saved all-or-nothing in one transaction
+    @PostMapping("/batch")
+    public ResponseEntity<List<ExpenseDTO>> addExpenses(@RequestBody List<ExpenseDTO> expenseDTOs) {
+        List<ExpenseDTO> created = expenseService.addExpenses(expenseDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @GetMapping
     public ResponseEntity<List<ExpenseDTO>> getExpenses() {
         List<ExpenseDTO> expenses = expenseService.getCurrentMonthExpensesForCurrentUser();
         return ResponseEntity.ok(expenses);
     }
 
+    // Cursor-paginated listing over any date range (defaults to all history), newest first
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ExpenseDTO>> getExpensePage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<ExpenseDTO> page = expenseService.getExpensePage(
+                FilterDTO.startDateOrDefault(startDate),
+                FilterDTO.endDateOrDefault(endDate),
+                keyword, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteExpense(@PathVariable Long id) {
         expenseService.deleteExpense(id);
@@ -0,0 +1,88 @@
+package com.authcodelab.smartmoneymanageapp.controller;
+
+import com.authcodelab.smartmoneymanageapp.dto.FilterDTO;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
+import com.authcodelab.smartmoneymanageapp.service.ExportService;
+import com.authcodelab.smartmoneymanageapp.service.ProfileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final MediaType APPLICATION_JSON_LINES = new MediaType("application", "jsonl");
+
+    private final ExportService exportService;
+    private final ProfileService profileService;
+
+    // GET /export/income.csv?startDate=2020-01-01&endDate=2025-12-31 (dates optional: all history)
+    @GetMapping("/{type}.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @PathVariable String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        exportService.validateType(type);
+        LocalDate start = startOrDefault(startDate);
+        LocalDate end = endOrDefault(endDate);
+        validateDateRange(start, end);
+        // Resolved here: the body is written on an async thread without the request-scoped profile
+        Long profileId = profileService.getCurrentProfile().getId();
+
+        StreamingResponseBody body = os -> exportService.writeCsv(os, type, profileId, start, end);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName(type, start, end, "csv"))
+                .body(body);
+    }
+
+    @GetMapping("/{type}.jsonl")
+    public ResponseEntity<StreamingResponseBody> exportJsonLines(
+            @PathVariable String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        exportService.validateType(type);
+        LocalDate start = startOrDefault(startDate);
+        LocalDate end = endOrDefault(endDate);
+        validateDateRange(start, end);
+        Long profileId = profileService.getCurrentProfile().getId();
+
+        StreamingResponseBody body = os -> exportService.writeJsonLines(os, type, profileId, start, end);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_JSON_LINES)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName(type, start, end, "jsonl"))
+                .body(body);
+    }
+
+    private LocalDate startOrDefault(LocalDate startDate) {
+        return FilterDTO.startDateOrDefault(startDate);
+    }
+
+    private LocalDate endOrDefault(LocalDate endDate) {
+        return FilterDTO.endDateOrDefault(endDate);
+    }
+
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException(
+                    "Start date cannot be after end date. Start: " + startDate + ", End: " + endDate);
+        }
+    }
+
+    private String fileName(String type, LocalDate startDate, LocalDate endDate, String extension) {
+        return type + "s_" + startDate + "_" + endDate + "." + extension;
+    }
+}
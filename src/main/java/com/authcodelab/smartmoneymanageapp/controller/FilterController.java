@@ -1,6 +1,8 @@
 package com.authcodelab.smartmoneymanageapp.controller;
 
+import com.authcodelab.smartmoneymanageapp.dto.CursorPageDTO;
 import com.authcodelab.smartmoneymanageapp.dto.FilterDTO;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
 import com.authcodelab.smartmoneymanageapp.service.FilterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,7 +39,7 @@ public class FilterController {
             log.info("Successfully filtered {} transactions", results.size());
             return ResponseEntity.ok(results);
 
-        } catch (IllegalArgumentException e) {
+        } catch (BadRequestException e) {
             log.warn("Invalid filter request: {}", e.getMessage());
             return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
 
@@ -48,6 +50,31 @@ public class FilterController {
         }
     }
 
+    @PostMapping("/page")
+    public ResponseEntity<?> filterTransactionsPage(@Valid @RequestBody FilterDTO filterDTO) {
+        try {
+            log.info("Received paged filter request: {}", filterDTO);
+
+            // Validate date range
+            if (filterDTO.getStartDate() != null && filterDTO.getEndDate() != null) {
+                filterService.validateDateRange(filterDTO.getStartDate(), filterDTO.getEndDate());
+            }
+
+            CursorPageDTO<?> page = filterService.filterTransactionsPage(filterDTO);
+
+            log.info("Successfully filtered {} transactions (hasMore: {})", page.getItems().size(), page.isHasMore());
+            return ResponseEntity.ok(page);
+
+        } catch (BadRequestException e) {
+            log.warn("Invalid paged filter request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("Error filtering transactions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("An error occurred while filtering transactions"));
+        }
+    }
 
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> error = new HashMap<>();
@@ -1,12 +1,16 @@
 package com.authcodelab.smartmoneymanageapp.controller;
 
+import com.authcodelab.smartmoneymanageapp.dto.CursorPageDTO;
+import com.authcodelab.smartmoneymanageapp.dto.FilterDTO;
 import com.authcodelab.smartmoneymanageapp.dto.IncomeDTO;
 import com.authcodelab.smartmoneymanageapp.service.IncomeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,12 +26,34 @@ public class IncomeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdIncome);
     }
 
+    // Bulk insert: a JSON array of incomes, saved all-or-nothing in one transaction
+    @PostMapping("/batch")
+    public ResponseEntity<List<IncomeDTO>> addIncomes(@RequestBody List<IncomeDTO> incomeDTOs) {
+        List<IncomeDTO> created = incomeService.addIncomes(incomeDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @GetMapping
     public ResponseEntity<List<IncomeDTO>> getExpenses() {
         List<IncomeDTO> incomes = incomeService.getCurrentMonthExpensesForCurrentUser();
         return ResponseEntity.ok(incomes);
     }
 
+    // Cursor-paginated listing over any date range (defaults to all history), newest first
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<IncomeDTO>> getIncomePage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<IncomeDTO> page = incomeService.getIncomePage(
+                FilterDTO.startDateOrDefault(startDate),
+                FilterDTO.endDateOrDefault(endDate),
+                keyword, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteIncome(@PathVariable Long id) {
         incomeService.deleteIncome(id);
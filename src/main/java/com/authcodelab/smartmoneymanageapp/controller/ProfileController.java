@@ -66,6 +66,14 @@ public class ProfileController {
                 "user", profile));
     }
 
+    @PostMapping("/tokens/revoke")
+    public ResponseEntity<Map<String, Object>> revokeTokens() {
+        profileService.revokeTokensForCurrentUser();
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "All previously issued tokens have been revoked. Please log in again."));
+    }
+
     @GetMapping("/test")
     public String test() {
         return "Test Successful";
@@ -0,0 +1,31 @@
+package com.authcodelab.smartmoneymanageapp.controller;
+
+import com.authcodelab.smartmoneymanageapp.dto.MonthlyCategoryStatDTO;
+import com.authcodelab.smartmoneymanageapp.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<MonthlyCategoryStatDTO>> getMonthlyStats(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to,
+            @RequestParam(required = false) String type) {
+        List<MonthlyCategoryStatDTO> stats = monthlyRollupService.getMonthlyStatsForCurrentUser(from, to, type);
+        return ResponseEntity.ok(stats);
+    }
+
+}
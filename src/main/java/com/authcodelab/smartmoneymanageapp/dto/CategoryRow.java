@@ -0,0 +1,16 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only category row, selected directly by the list queries in CategoryRepository.
+ */
+public record CategoryRow(
+        Long id,
+        String name,
+        String icon,
+        Long profileId,
+        String type,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
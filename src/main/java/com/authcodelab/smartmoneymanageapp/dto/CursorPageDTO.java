@@ -0,0 +1,21 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor; // pass back as "cursor" for the next page; null on the last page
+    private boolean hasMore;
+    private int size; // page size that was applied
+
+}
@@ -0,0 +1,30 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailJobDTO {
+
+    private String jobId;
+    private String type; // "income" or "expense"
+    private String status; // QUEUED, RUNNING, SUCCEEDED or FAILED
+    private String recipient;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long recordCount;
+    private BigDecimal total;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+}
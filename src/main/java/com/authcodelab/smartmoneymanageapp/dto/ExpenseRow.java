@@ -0,0 +1,22 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only expense row with its category, selected directly by the list queries in ExpenseRepository
+ * (JPQL constructor expression), so no managed entity is created for list reads.
+ */
+public record ExpenseRow(
+        Long id,
+        String name,
+        String icon,
+        Long categoryId,
+        String categoryName,
+        String categoryIcon,
+        BigDecimal amount,
+        LocalDate date,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -1,5 +1,6 @@
 package com.authcodelab.smartmoneymanageapp.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
@@ -19,6 +20,10 @@ import java.time.LocalDate;
 @Builder
 public class FilterDTO {
 
+    // Range used when a filter or listing is given no start or end date: all history
+    public static final LocalDate DEFAULT_START_DATE = LocalDate.of(1900, 1, 1);
+    public static final LocalDate DEFAULT_END_DATE = LocalDate.of(2100, 12, 31);
+
     /**
      * Type of transaction to filter
      * Must be either 'income' or 'expense' (case-insensitive)
@@ -58,4 +63,25 @@ public class FilterDTO {
      */
     @Pattern(regexp = "(?i)^(asc|desc)$", message = "Sort order must be 'asc' or 'desc'")
     private String sortOrder;
+
+    /**
+     * Cursor returned as 'nextCursor' by the previous page (optional, /filters/page only)
+     * Omit to get the first page
+     */
+    private String cursor;
+
+    /**
+     * Page size (optional, /filters/page only)
+     * Defaults to money.manager.pagination.default-size, capped at money.manager.pagination.max-size
+     */
+    @Min(value = 1, message = "Page size must be at least 1")
+    private Integer size;
+
+    public static LocalDate startDateOrDefault(LocalDate startDate) {
+        return startDate != null ? startDate : DEFAULT_START_DATE;
+    }
+
+    public static LocalDate endDateOrDefault(LocalDate endDate) {
+        return endDate != null ? endDate : DEFAULT_END_DATE;
+    }
 }
@@ -0,0 +1,24 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MonthlyCategoryStatDTO {
+
+    private String yearMonth; // "yyyy-MM"
+    private String type; // "income" or "expense"
+    private Long categoryId;
+    private String categoryName;
+    private String categoryIcon;
+    private BigDecimal total;
+    private Long count;
+
+}
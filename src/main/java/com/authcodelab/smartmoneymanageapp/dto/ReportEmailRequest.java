@@ -0,0 +1,30 @@
+package com.authcodelab.smartmoneymanageapp.dto;
+
+import jakarta.validation.constraints.Email;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request for an emailed income/expense report.
+ * The report is built server-side from the current user's transactions in the date range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportEmailRequest {
+
+    // Optional; defaults to the current user's email
+    @Email(message = "Recipient must be a valid email address")
+    private String recipient;
+
+    // Optional; defaults to the first day of the current month
+    private LocalDate startDate;
+
+    // Optional; defaults to the last day of the current month
+    private LocalDate endDate;
+}
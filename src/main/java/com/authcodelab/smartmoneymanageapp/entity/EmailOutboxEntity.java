@@ -0,0 +1,66 @@
+package com.authcodelab.smartmoneymanageapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be delivered (or already delivered / given up on).
+ * Written in the business transaction, delivered asynchronously by EmailOutboxService.
+ */
+@Entity
+@Table(name = "tbl_email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next", columnList = "status, next_attempt_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmailOutboxEntity {
+
+    public enum Status {
+        PENDING, SENT, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Due time of the next attempt; also pushed forward as a lease while an attempt is running
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime sentAt;
+
+}
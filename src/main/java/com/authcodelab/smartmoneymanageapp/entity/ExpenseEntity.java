@@ -17,7 +17,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_expenses")
+@Table(name = "tbl_expenses", indexes = {
+        @Index(name = "idx_expenses_profile_date_created", columnList = "profile_id, date, created_at"),
+        @Index(name = "idx_expenses_profile_category_date", columnList = "profile_id, category_id, date"),
+        @Index(name = "idx_expenses_date_profile", columnList = "date, profile_id")
+})
 public class ExpenseEntity {
 
     @Id
@@ -34,7 +38,7 @@ public class ExpenseEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private CategoryEntity category;
 
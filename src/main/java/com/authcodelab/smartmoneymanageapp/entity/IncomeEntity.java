@@ -17,7 +17,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_incomes")
+@Table(name = "tbl_incomes", indexes = {
+        @Index(name = "idx_incomes_profile_date_created", columnList = "profile_id, date, created_at"),
+        @Index(name = "idx_incomes_profile_category_date", columnList = "profile_id, category_id, date")
+})
 public class IncomeEntity {
 
     @Id
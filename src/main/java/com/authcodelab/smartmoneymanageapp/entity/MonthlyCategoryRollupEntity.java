@@ -0,0 +1,52 @@
+package com.authcodelab.smartmoneymanageapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated income/expense totals per profile, month and category.
+ * One row per (profile_id, month_key, category_id, type); month_key is "yyyy-MM".
+ */
+@Entity
+@Table(name = "tbl_monthly_category_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_rollup_profile_month_category_type",
+                columnNames = {"profile_id", "month_key", "category_id", "type"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MonthlyCategoryRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    // YEAR_MONTH is a reserved word in MySQL, so the column is named month_key
+    @Column(name = "month_key", nullable = false, length = 7)
+    private String yearMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false, length = 10)
+    private String type;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long txCount;
+
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,43 @@
+package com.authcodelab.smartmoneymanageapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized running totals for a profile.
+ * Kept in step with tbl_incomes / tbl_expenses on every write so the dashboard
+ * can read totals with a primary-key lookup instead of summing the full history.
+ */
+@Entity
+@Table(name = "tbl_profile_balances")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProfileBalanceEntity {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false)
+    private BigDecimal totalExpense;
+
+    @Column(nullable = false)
+    private Long incomeCount;
+
+    @Column(nullable = false)
+    private Long expenseCount;
+
+    private LocalDateTime updatedAt;
+
+}
@@ -33,12 +33,18 @@ public class ProfileEntity {
     private LocalDateTime updatedAt;
     private Boolean isActive;
     private String activationToken;
+    // Bumped to revoke all previously issued JWTs (see TokenVersionRegistry)
+    @Column(nullable = false)
+    private Integer tokenVersion;
 
     @PrePersist
     public void prePersist() {
         if (this.isActive == null) {
             this.isActive = false;
         }
+        if (this.tokenVersion == null) {
+            this.tokenVersion = 0;
+        }
     }
 
 }
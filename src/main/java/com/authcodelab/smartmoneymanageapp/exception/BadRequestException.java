@@ -0,0 +1,16 @@
+package com.authcodelab.smartmoneymanageapp.exception;
+
+/**
+ * Exception thrown when a request fails validation (malformed cursor, invalid date range,
+ * oversized batch, ...). Its message is returned to the client, so it must not carry internal details.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
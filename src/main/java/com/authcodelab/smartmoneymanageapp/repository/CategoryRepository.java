@@ -1,19 +1,41 @@
 package com.authcodelab.smartmoneymanageapp.repository;
 
+import com.authcodelab.smartmoneymanageapp.dto.CategoryRow;
 import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<CategoryEntity , Long> {
 
-    //select all categories by profile id
+    String CATEGORY_ROW = "SELECT new com.authcodelab.smartmoneymanageapp.dto.CategoryRow(" +
+            "c.id, c.name, c.icon, c.profile.id, c.type, c.createdAt, c.updatedAt) FROM CategoryEntity c ";
+
+    //select all categories by profile id (read-only: loaded for lookups, never modified)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<CategoryEntity> findByProfileId(Long profileId);
 
+    //select category rows by profile id (list endpoint)
+    @Query(CATEGORY_ROW + "WHERE c.profile.id = :profileId")
+    List<CategoryRow> findRowsByProfileId(@Param("profileId") Long profileId);
+
+    //select category rows by type and profile id (list endpoint)
+    @Query(CATEGORY_ROW + "WHERE c.type = :type AND c.profile.id = :profileId")
+    List<CategoryRow> findRowsByTypeAndProfileId(@Param("type") String type, @Param("profileId") Long profileId);
+
     //select category by id and profile id
     Optional<CategoryEntity> findByIdAndProfileId(Long id, Long profileId);
 
+    //select the profile's categories among the given ids (bulk insert validation, one round trip)
+    List<CategoryEntity> findByIdInAndProfileId(Collection<Long> ids, Long profileId);
+
     //select categories by type and profile id
     List<CategoryEntity> findByTypeAndProfileId(String type, Long profileId);
 
@@ -0,0 +1,37 @@
+package com.authcodelab.smartmoneymanageapp.repository;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Dedicated read path for the dashboard.
+ * Totals come from the balance ledger (see ProfileBalanceRepository); the latest
+ * incomes and expenses are loaded here in a single round trip.
+ */
+public interface DashboardRepository extends Repository<ProfileEntity, Long> {
+
+    /**
+     * Latest N incomes and latest N expenses (with category details) for a profile.
+     * Columns: type, id, name, icon, amount, date, created_at, updated_at,
+     * category_id, category_name, category_icon
+     */
+    @Query(value = "(SELECT 'income' AS type, i.id, i.name, i.icon, i.amount, i.date, i.created_at, i.updated_at, " +
+            "        c.id AS category_id, c.name AS category_name, c.icon AS category_icon " +
+            " FROM tbl_incomes i LEFT JOIN tbl_categories c ON c.id = i.category_id " +
+            " WHERE i.profile_id = :profileId " +
+            " ORDER BY i.date DESC, i.created_at DESC, i.id DESC LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT 'expense' AS type, e.id, e.name, e.icon, e.amount, e.date, e.created_at, e.updated_at, " +
+            "        c.id AS category_id, c.name AS category_name, c.icon AS category_icon " +
+            " FROM tbl_expenses e LEFT JOIN tbl_categories c ON c.id = e.category_id " +
+            " WHERE e.profile_id = :profileId " +
+            " ORDER BY e.date DESC, e.created_at DESC, e.id DESC LIMIT :limit)",
+            nativeQuery = true)
+    @Transactional(readOnly = true)
+    List<Object[]> findRecentTransactions(@Param("profileId") Long profileId, @Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package com.authcodelab.smartmoneymanageapp.repository;
+
+import com.authcodelab.smartmoneymanageapp.entity.EmailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    // Lock due messages; SKIP LOCKED lets several workers/instances claim disjoint batches
+    @Query(value = "SELECT * FROM tbl_email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutboxEntity> lockDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Count messages in a status (outbox gauges)
+    long countByStatus(EmailOutboxEntity.Status status);
+
+    // Mark a message as delivered
+    @Modifying
+    @Query("UPDATE EmailOutboxEntity o SET o.status = :status, o.sentAt = :now, o.lastError = null, " +
+            "o.updatedAt = :now WHERE o.id = :id")
+    int markSent(@Param("id") Long id,
+                 @Param("status") EmailOutboxEntity.Status status,
+                 @Param("now") LocalDateTime now);
+
+    // Record a failed attempt: schedule a retry (status PENDING) or give up (status DEAD)
+    @Modifying
+    @Query("UPDATE EmailOutboxEntity o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, " +
+            "o.lastError = :error, o.updatedAt = :now WHERE o.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxEntity.Status status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+
+    // Purge delivered messages older than the retention window
+    @Modifying
+    @Query("DELETE FROM EmailOutboxEntity o WHERE o.status = :status AND o.sentAt < :cutoff")
+    int deleteSentBefore(@Param("status") EmailOutboxEntity.Status status,
+                         @Param("cutoff") LocalDateTime cutoff);
+}
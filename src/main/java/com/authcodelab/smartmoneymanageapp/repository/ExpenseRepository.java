@@ -1,22 +1,43 @@
 package com.authcodelab.smartmoneymanageapp.repository;
 
+import com.authcodelab.smartmoneymanageapp.dto.ExpenseRow;
 import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * List endpoints read ExpenseRow projections with the category joined in the same statement; entity
+ * reads that need the category load it with JOIN FETCH or the "category" entity graph.
+ */
 public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
 
+    // Select list of ExpenseRow; the category is an inner join (category_id is NOT NULL)
+    String EXPENSE_ROW = "SELECT new com.authcodelab.smartmoneymanageapp.dto.ExpenseRow(" +
+            "e.id, e.name, e.icon, c.id, c.name, c.icon, e.amount, e.date, e.createdAt, e.updatedAt) " +
+            "FROM ExpenseEntity e JOIN e.category c ";
+
     // Find all expenses by profile id ordered by date descending
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findByProfileIdOrderByDateDesc(Long profileId);
 
-    // Find top 5 most recent expenses by profile id
-    List<ExpenseEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // Most recent expenses by profile id (newest first)
+    @Query(EXPENSE_ROW + "WHERE e.profile.id = :profileId ORDER BY e.date DESC, e.createdAt DESC, e.id DESC")
+    List<ExpenseRow> findLatestRows(@Param("profileId") Long profileId, Limit limit);
 
     // Calculate total expense for a profile
     @Query("SELECT SUM(e.amount) FROM ExpenseEntity e WHERE e.profile.id = :profileId")
@@ -24,6 +45,7 @@ public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
 
     // Select expenses by profile id and date range with keyword search and sorting
     // (name only)
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
             Long profileId,
             LocalDate startDate,
@@ -33,24 +55,134 @@ public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
 
     /**
      * Enhanced search across name and category name
-     * Searches for keyword in both expense name and category name
+     * Searches for keyword in both expense name and category name.
+     * Fallback for keywords the full-text indexes cannot serve (see FullTextKeyword)
      */
-    @Query("SELECT e FROM ExpenseEntity e " +
+    @Query(EXPENSE_ROW +
             "WHERE e.profile.id = :profileId " +
             "AND e.date BETWEEN :startDate AND :endDate " +
             "AND (LOWER(e.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "     OR LOWER(e.category.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<ExpenseEntity> searchExpensesByKeyword(
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    List<ExpenseRow> searchExpensesByKeyword(
             @Param("profileId") Long profileId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("keyword") String keyword,
             Sort sort);
 
-    // Select expenses by profile id and date range
-    List<ExpenseEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
+    // Ids of expenses whose name or category name contains the phrase (from FullTextKeyword), found through
+    // the n-gram full-text indexes ft_expenses_name and ft_categories_name instead of a LIKE scan.
+    // The full-text index is not partitioned by profile: MATCH reads the matches of every profile first and
+    // profile_id/date are applied afterwards, so the cost grows with how common the phrase is across all
+    // tenants, not with this profile's rows. Cheap for distinctive phrases; for phrases common across many
+    // tenants the per-profile LIKE scan (SEARCH_FULLTEXT_ENABLED=false) reads less.
+    @Query(value = "SELECT e.id FROM tbl_expenses e " +
+            "WHERE MATCH(e.name) AGAINST (:phrase IN BOOLEAN MODE) " +
+            "AND e.profile_id = :profileId AND e.date BETWEEN :startDate AND :endDate " +
+            "UNION " +
+            "SELECT e.id FROM tbl_categories c JOIN tbl_expenses e ON e.category_id = c.id " +
+            "WHERE MATCH(c.name) AGAINST (:phrase IN BOOLEAN MODE) AND c.profile_id = :profileId " +
+            "AND e.profile_id = :profileId AND e.date BETWEEN :startDate AND :endDate",
+            nativeQuery = true)
+    List<Long> searchIdsByFullText(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("phrase") String phrase);
+
+    // Rows for ids found by a keyword search (full-text or the in-memory keyword index); callers pass the
+    // ids in chunks of at most 1000
+    @Query(EXPENSE_ROW + "WHERE e.id IN :ids AND e.profile.id = :profileId")
+    List<ExpenseRow> findRowsByIdIn(@Param("profileId") Long profileId, @Param("ids") Collection<Long> ids, Sort sort);
+
+    // Keyset pagination (newest first) on (date, createdAt, id), served by idx_expenses_profile_date_created.
+    // An empty keyword is folded away by the optimizer; otherwise LIKE only filters the ordered index walk,
+    // which stops after limit matches.
+    // First page
+    @Query(EXPENSE_ROW +
+            "WHERE e.profile.id = :profileId " +
+            "AND e.date BETWEEN :startDate AND :endDate " +
+            "AND (:keyword = '' OR LOWER(e.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY e.date DESC, e.createdAt DESC, e.id DESC")
+    List<ExpenseRow> findPageStart(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            Limit limit);
+
+    // Following pages: rows strictly after the cursor position
+    @Query(EXPENSE_ROW +
+            "WHERE e.profile.id = :profileId " +
+            "AND e.date BETWEEN :startDate AND :endDate " +
+            "AND (:keyword = '' OR LOWER(e.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND (e.date < :cursorDate " +
+            "     OR (e.date = :cursorDate AND (e.createdAt < :cursorCreatedAt " +
+            "         OR (e.createdAt = :cursorCreatedAt AND e.id < :cursorId)))) " +
+            "ORDER BY e.date DESC, e.createdAt DESC, e.id DESC")
+    List<ExpenseRow> findPageAfter(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    // Stream expenses in a date range for exports; rows are read from the driver one at a time
+    // (Integer.MIN_VALUE fetch size makes MySQL Connector/J stream instead of buffering the result).
+    // Must be consumed inside a transaction and closed; loaded read-only (no dirty-checking snapshot per row).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM ExpenseEntity e JOIN FETCH e.category " +
+            "WHERE e.profile.id = :profileId " +
+            "AND e.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY e.date ASC, e.id ASC")
+    Stream<ExpenseEntity> streamByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // All expenses of a profile (builds the in-memory keyword index, see KeywordIndexService)
+    @Query(EXPENSE_ROW + "WHERE e.profile.id = :profileId")
+    List<ExpenseRow> findRowsByProfileId(@Param("profileId") Long profileId);
+
+    // Select expenses by profile id and date range (plain range scan on idx_expenses_profile_date_created)
+    @Query(EXPENSE_ROW + "WHERE e.profile.id = :profileId AND e.date BETWEEN :startDate AND :endDate")
+    List<ExpenseRow> findRowsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Sort sort);
+
+    // Expenses of all active profiles on a date with owner and category details, ordered by profile
+    // so rows of one profile are adjacent (daily summary job; served by idx_expenses_date_profile)
+    @Query("SELECT p.id AS profileId, p.email AS email, p.fullName AS fullName, " +
+            "e.name AS name, e.amount AS amount, c.name AS categoryName, e.date AS date " +
+            "FROM ExpenseEntity e JOIN e.profile p JOIN e.category c " +
+            "WHERE e.date = :date AND p.isActive = true " +
+            "ORDER BY p.id, e.id")
+    @Transactional(readOnly = true)
+    List<DailyExpenseRow> findDailyExpenseRows(@Param("date") LocalDate date);
+
+    interface DailyExpenseRow {
+        Long getProfileId();
+
+        String getEmail();
+
+        String getFullName();
+
+        String getName();
+
+        BigDecimal getAmount();
+
+        String getCategoryName();
 
-    // Select expenses by profile id and specific date
-    List<ExpenseEntity> findByProfileIdAndDate(Long profileId, LocalDate date);
+        LocalDate getDate();
+    }
 
 }
@@ -1,22 +1,42 @@
 package com.authcodelab.smartmoneymanageapp.repository;
 
+import com.authcodelab.smartmoneymanageapp.dto.IncomeRow;
 import com.authcodelab.smartmoneymanageapp.entity.IncomeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * List endpoints read IncomeRow projections with the category joined in the same statement; entity
+ * reads that need the category load it with JOIN FETCH or the "category" entity graph.
+ */
 public interface IncomeRepository extends JpaRepository<IncomeEntity, Long> {
 
+    // Select list of IncomeRow; the category is an inner join (category_id is NOT NULL)
+    String INCOME_ROW = "SELECT new com.authcodelab.smartmoneymanageapp.dto.IncomeRow(" +
+            "i.id, i.name, i.icon, c.id, c.name, c.icon, i.amount, i.date, i.createdAt, i.updatedAt) " +
+            "FROM IncomeEntity i JOIN i.category c ";
+
     // Find all incomes by profile id ordered by date descending
+    @EntityGraph(attributePaths = "category")
     List<IncomeEntity> findByProfileIdOrderByDateDesc(Long profileId);
 
-    // Find top 5 most recent incomes by profile id
-    List<IncomeEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // Most recent incomes by profile id (newest first)
+    @Query(INCOME_ROW + "WHERE i.profile.id = :profileId ORDER BY i.date DESC, i.createdAt DESC, i.id DESC")
+    List<IncomeRow> findLatestRows(@Param("profileId") Long profileId, Limit limit);
 
     // Calculate total income for a profile
     @Query("SELECT SUM(i.amount) FROM IncomeEntity i WHERE i.profile.id = :profileId")
@@ -24,6 +44,7 @@ public interface IncomeRepository extends JpaRepository<IncomeEntity, Long> {
 
     // Select incomes by profile id and date range with keyword search and sorting
     // (name only)
+    @EntityGraph(attributePaths = "category")
     List<IncomeEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
             Long profileId,
             LocalDate startDate,
@@ -33,21 +54,108 @@ public interface IncomeRepository extends JpaRepository<IncomeEntity, Long> {
 
     /**
      * Enhanced search across name and category name
-     * Searches for keyword in both income name and category name
+     * Searches for keyword in both income name and category name.
+     * Fallback for keywords the full-text indexes cannot serve (see FullTextKeyword)
      */
-    @Query("SELECT i FROM IncomeEntity i " +
+    @Query(INCOME_ROW +
             "WHERE i.profile.id = :profileId " +
             "AND i.date BETWEEN :startDate AND :endDate " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "     OR LOWER(i.category.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<IncomeEntity> searchIncomesByKeyword(
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    List<IncomeRow> searchIncomesByKeyword(
             @Param("profileId") Long profileId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("keyword") String keyword,
             Sort sort);
 
-    // Select incomes by profile id and date range
-    List<IncomeEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
+    // Ids of incomes whose name or category name contains the phrase (from FullTextKeyword), found through
+    // the n-gram full-text indexes ft_incomes_name and ft_categories_name instead of a LIKE scan.
+    // The full-text index is not partitioned by profile: MATCH reads the matches of every profile first and
+    // profile_id/date are applied afterwards, so the cost grows with how common the phrase is across all
+    // tenants, not with this profile's rows. Cheap for distinctive phrases; for phrases common across many
+    // tenants the per-profile LIKE scan (SEARCH_FULLTEXT_ENABLED=false) reads less.
+    @Query(value = "SELECT i.id FROM tbl_incomes i " +
+            "WHERE MATCH(i.name) AGAINST (:phrase IN BOOLEAN MODE) " +
+            "AND i.profile_id = :profileId AND i.date BETWEEN :startDate AND :endDate " +
+            "UNION " +
+            "SELECT i.id FROM tbl_categories c JOIN tbl_incomes i ON i.category_id = c.id " +
+            "WHERE MATCH(c.name) AGAINST (:phrase IN BOOLEAN MODE) AND c.profile_id = :profileId " +
+            "AND i.profile_id = :profileId AND i.date BETWEEN :startDate AND :endDate",
+            nativeQuery = true)
+    List<Long> searchIdsByFullText(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("phrase") String phrase);
+
+    // Rows for ids found by a keyword search (full-text or the in-memory keyword index); callers pass the
+    // ids in chunks of at most 1000
+    @Query(INCOME_ROW + "WHERE i.id IN :ids AND i.profile.id = :profileId")
+    List<IncomeRow> findRowsByIdIn(@Param("profileId") Long profileId, @Param("ids") Collection<Long> ids, Sort sort);
+
+    // Keyset pagination (newest first) on (date, createdAt, id), served by idx_incomes_profile_date_created.
+    // An empty keyword is folded away by the optimizer; otherwise LIKE only filters the ordered index walk,
+    // which stops after limit matches.
+    // First page
+    @Query(INCOME_ROW +
+            "WHERE i.profile.id = :profileId " +
+            "AND i.date BETWEEN :startDate AND :endDate " +
+            "AND (:keyword = '' OR LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY i.date DESC, i.createdAt DESC, i.id DESC")
+    List<IncomeRow> findPageStart(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            Limit limit);
+
+    // Following pages: rows strictly after the cursor position
+    @Query(INCOME_ROW +
+            "WHERE i.profile.id = :profileId " +
+            "AND i.date BETWEEN :startDate AND :endDate " +
+            "AND (:keyword = '' OR LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "     OR LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND (i.date < :cursorDate " +
+            "     OR (i.date = :cursorDate AND (i.createdAt < :cursorCreatedAt " +
+            "         OR (i.createdAt = :cursorCreatedAt AND i.id < :cursorId)))) " +
+            "ORDER BY i.date DESC, i.createdAt DESC, i.id DESC")
+    List<IncomeRow> findPageAfter(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    // Stream incomes in a date range for exports; rows are read from the driver one at a time
+    // (Integer.MIN_VALUE fetch size makes MySQL Connector/J stream instead of buffering the result).
+    // Must be consumed inside a transaction and closed; loaded read-only (no dirty-checking snapshot per row).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT i FROM IncomeEntity i JOIN FETCH i.category " +
+            "WHERE i.profile.id = :profileId " +
+            "AND i.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY i.date ASC, i.id ASC")
+    Stream<IncomeEntity> streamByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // All incomes of a profile (builds the in-memory keyword index, see KeywordIndexService)
+    @Query(INCOME_ROW + "WHERE i.profile.id = :profileId")
+    List<IncomeRow> findRowsByProfileId(@Param("profileId") Long profileId);
+
+    // Select incomes by profile id and date range (plain range scan on idx_incomes_profile_date_created)
+    @Query(INCOME_ROW + "WHERE i.profile.id = :profileId AND i.date BETWEEN :startDate AND :endDate")
+    List<IncomeRow> findRowsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Sort sort);
 
 }
@@ -0,0 +1,113 @@
+package com.authcodelab.smartmoneymanageapp.repository;
+
+import com.authcodelab.smartmoneymanageapp.entity.MonthlyCategoryRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MonthlyCategoryRollupRepository extends JpaRepository<MonthlyCategoryRollupEntity, Long> {
+
+    // Select rollups of a profile for a month range ("yyyy-MM" compares lexicographically), optionally by type
+    @Query("SELECT r FROM MonthlyCategoryRollupEntity r " +
+            "WHERE r.profileId = :profileId " +
+            "AND r.yearMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "ORDER BY r.yearMonth ASC, r.type ASC, r.categoryId ASC")
+    List<MonthlyCategoryRollupEntity> findForProfile(@Param("profileId") Long profileId,
+                                                     @Param("fromMonth") String fromMonth,
+                                                     @Param("toMonth") String toMonth,
+                                                     @Param("type") String type);
+
+    // Apply a delta to one bucket in place, returns 0 if the bucket does not exist yet
+    @Modifying
+    @Query("UPDATE MonthlyCategoryRollupEntity r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.txCount = r.txCount + :count, r.updatedAt = :now " +
+            "WHERE r.profileId = :profileId AND r.yearMonth = :yearMonth " +
+            "AND r.categoryId = :categoryId AND r.type = :type")
+    int applyDelta(@Param("profileId") Long profileId,
+                   @Param("yearMonth") String yearMonth,
+                   @Param("categoryId") Long categoryId,
+                   @Param("type") String type,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count,
+                   @Param("now") LocalDateTime now);
+
+    // Create a bucket from its recomputed totals. If a concurrent first write created it in the meantime,
+    // that one's totals could not see this (uncommitted) write, so only this write's delta is added.
+    @Modifying
+    @Query(value = "INSERT INTO tbl_monthly_category_rollups " +
+            "(profile_id, month_key, category_id, type, total_amount, tx_count, updated_at) " +
+            "VALUES (:profileId, :yearMonth, :categoryId, :type, :total, :txCount, :now) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, tx_count = tx_count + :count, " +
+            "updated_at = VALUES(updated_at)", nativeQuery = true)
+    int insertOrApplyDelta(@Param("profileId") Long profileId,
+                           @Param("yearMonth") String yearMonth,
+                           @Param("categoryId") Long categoryId,
+                           @Param("type") String type,
+                           @Param("total") BigDecimal total,
+                           @Param("txCount") long txCount,
+                           @Param("amount") BigDecimal amount,
+                           @Param("count") long count,
+                           @Param("now") LocalDateTime now);
+
+    // Remove all rollups of a profile before it is backfilled
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryRollupEntity r WHERE r.profileId = :profileId")
+    int deleteByProfileId(@Param("profileId") Long profileId);
+
+    // Recompute one income bucket from the base table
+    @Query("SELECT SUM(i.amount) AS total, COUNT(i) AS count FROM IncomeEntity i " +
+            "WHERE i.profile.id = :profileId AND i.category.id = :categoryId " +
+            "AND i.date BETWEEN :startDate AND :endDate")
+    RollupTotals sumIncomeBucket(@Param("profileId") Long profileId,
+                                 @Param("categoryId") Long categoryId,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+
+    // Recompute one expense bucket from the base table
+    @Query("SELECT SUM(e.amount) AS total, COUNT(e) AS count FROM ExpenseEntity e " +
+            "WHERE e.profile.id = :profileId AND e.category.id = :categoryId " +
+            "AND e.date BETWEEN :startDate AND :endDate")
+    RollupTotals sumExpenseBucket(@Param("profileId") Long profileId,
+                                  @Param("categoryId") Long categoryId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    // All income buckets of a profile, grouped by year, month and category (used by the backfill job)
+    @Query("SELECT YEAR(i.date) AS year, MONTH(i.date) AS month, i.category.id AS categoryId, " +
+            "SUM(i.amount) AS total, COUNT(i) AS count FROM IncomeEntity i " +
+            "WHERE i.profile.id = :profileId " +
+            "GROUP BY YEAR(i.date), MONTH(i.date), i.category.id")
+    List<RollupBucket> groupIncomesByProfileId(@Param("profileId") Long profileId);
+
+    // All expense buckets of a profile, grouped by year, month and category (used by the backfill job)
+    @Query("SELECT YEAR(e.date) AS year, MONTH(e.date) AS month, e.category.id AS categoryId, " +
+            "SUM(e.amount) AS total, COUNT(e) AS count FROM ExpenseEntity e " +
+            "WHERE e.profile.id = :profileId " +
+            "GROUP BY YEAR(e.date), MONTH(e.date), e.category.id")
+    List<RollupBucket> groupExpensesByProfileId(@Param("profileId") Long profileId);
+
+    interface RollupTotals {
+        BigDecimal getTotal();
+
+        Long getCount();
+    }
+
+    interface RollupBucket {
+        Integer getYear();
+
+        Integer getMonth();
+
+        Long getCategoryId();
+
+        BigDecimal getTotal();
+
+        Long getCount();
+    }
+}
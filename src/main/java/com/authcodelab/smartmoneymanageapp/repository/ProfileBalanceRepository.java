@@ -0,0 +1,71 @@
+package com.authcodelab.smartmoneymanageapp.repository;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileBalanceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ProfileBalanceRepository extends JpaRepository<ProfileBalanceEntity, Long> {
+
+    // Lock the balance row of a profile while it is being rebuilt
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProfileBalanceEntity b WHERE b.profileId = :profileId")
+    Optional<ProfileBalanceEntity> findForUpdate(@Param("profileId") Long profileId);
+
+    // Create the zero row of a profile if it is missing. ON DUPLICATE KEY takes an exclusive lock on the
+    // existing row instead of the gap lock a SELECT ... FOR UPDATE on a missing key would take, so two
+    // concurrent callers queue up rather than deadlock or collide on the primary key.
+    @Modifying
+    @Query(value = "INSERT INTO tbl_profile_balances " +
+            "(profile_id, total_income, total_expense, income_count, expense_count, updated_at) " +
+            "VALUES (:profileId, 0, 0, 0, 0, :now) " +
+            "ON DUPLICATE KEY UPDATE profile_id = profile_id", nativeQuery = true)
+    int insertIfMissing(@Param("profileId") Long profileId, @Param("now") LocalDateTime now);
+
+    // Apply an income delta in place (upsert: a missing row starts from the delta)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_profile_balances " +
+            "(profile_id, total_income, total_expense, income_count, expense_count, updated_at) " +
+            "VALUES (:profileId, :amount, 0, :count, 0, :now) " +
+            "ON DUPLICATE KEY UPDATE total_income = total_income + VALUES(total_income), " +
+            "income_count = income_count + VALUES(income_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int applyIncomeDelta(@Param("profileId") Long profileId,
+                         @Param("amount") BigDecimal amount,
+                         @Param("count") long count,
+                         @Param("now") LocalDateTime now);
+
+    // Apply an expense delta in place (upsert: a missing row starts from the delta)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_profile_balances " +
+            "(profile_id, total_income, total_expense, income_count, expense_count, updated_at) " +
+            "VALUES (:profileId, 0, :amount, 0, :count, :now) " +
+            "ON DUPLICATE KEY UPDATE total_expense = total_expense + VALUES(total_expense), " +
+            "expense_count = expense_count + VALUES(expense_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int applyExpenseDelta(@Param("profileId") Long profileId,
+                          @Param("amount") BigDecimal amount,
+                          @Param("count") long count,
+                          @Param("now") LocalDateTime now);
+
+    // Recompute income totals from the base table (used by rebuild / reconciliation)
+    @Query("SELECT SUM(i.amount) AS total, COUNT(i) AS count FROM IncomeEntity i WHERE i.profile.id = :profileId")
+    LedgerTotals sumIncomesByProfileId(@Param("profileId") Long profileId);
+
+    // Recompute expense totals from the base table (used by rebuild / reconciliation)
+    @Query("SELECT SUM(e.amount) AS total, COUNT(e) AS count FROM ExpenseEntity e WHERE e.profile.id = :profileId")
+    LedgerTotals sumExpensesByProfileId(@Param("profileId") Long profileId);
+
+    interface LedgerTotals {
+        BigDecimal getTotal();
+
+        Long getCount();
+    }
+}
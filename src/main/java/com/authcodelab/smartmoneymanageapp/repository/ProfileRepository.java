@@ -1,8 +1,13 @@
 package com.authcodelab.smartmoneymanageapp.repository;
 
 import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
@@ -12,4 +17,33 @@ public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
 
     // Find a profile by activation token
     Optional<ProfileEntity> findByActivationToken(String activationToken);
+
+    // Select all profile ids in ascending order
+    @Query("SELECT p.id FROM ProfileEntity p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    // Keyset page of active profiles with an id above afterId (scheduled jobs, see ProfileBatchScanner)
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id AS id, p.email AS email, p.fullName AS fullName FROM ProfileEntity p " +
+            "WHERE p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<ProfileSummary> findActiveProfilesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Select the token versions that differ from the default, ordered by profile id
+    @Query("SELECT p.id AS id, p.tokenVersion AS tokenVersion FROM ProfileEntity p " +
+            "WHERE p.tokenVersion > 0 ORDER BY p.id")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    interface ProfileSummary {
+        Long getId();
+
+        String getEmail();
+
+        String getFullName();
+    }
+
+    interface TokenVersionView {
+        Long getId();
+
+        Integer getTokenVersion();
+    }
 }
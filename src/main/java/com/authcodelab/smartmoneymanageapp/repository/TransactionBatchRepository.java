@@ -0,0 +1,95 @@
+package com.authcodelab.smartmoneymanageapp.repository;
+
+import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
+import com.authcodelab.smartmoneymanageapp.entity.IncomeEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bulk inserts of incomes and expenses as plain JDBC batches. Hibernate cannot batch inserts of
+ * IDENTITY entities (it needs each id right after its INSERT), whereas a JDBC batch still returns the
+ * AUTO_INCREMENT ids through getGeneratedKeys. With rewriteBatchedStatements=true the MySQL driver
+ * sends each batch as multi-row INSERT statements.
+ * Runs in the caller's transaction (the connection bound by the JPA transaction manager).
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String COLUMNS =
+            " (name, icon, date, amount, created_at, updated_at, category_id, profile_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate,
+                                      @Value("${money.manager.batch.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Inserts the incomes and sets their generated ids; profile, category and timestamps must be set
+    public void insertIncomes(List<IncomeEntity> incomes) {
+        insert("tbl_incomes", incomes, income -> new Object[]{
+                income.getName(), income.getIcon(), income.getDate(), income.getAmount(),
+                income.getCreatedAt(), income.getUpdatedAt(),
+                income.getCategory().getId(), income.getProfile().getId()
+        }, IncomeEntity::setId);
+    }
+
+    // Inserts the expenses and sets their generated ids; profile, category and timestamps must be set
+    public void insertExpenses(List<ExpenseEntity> expenses) {
+        insert("tbl_expenses", expenses, expense -> new Object[]{
+                expense.getName(), expense.getIcon(), expense.getDate(), expense.getAmount(),
+                expense.getCreatedAt(), expense.getUpdatedAt(),
+                expense.getCategory().getId(), expense.getProfile().getId()
+        }, ExpenseEntity::setId);
+    }
+
+    private <T> void insert(String table, List<T> rows, Function<T, Object[]> values, BiConsumer<T, Long> setId) {
+        String sql = "INSERT INTO " + table + COLUMNS;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            Object[] row = values.apply(chunk.get(i));
+                            for (int column = 0; column < row.length; column++) {
+                                statement.setObject(column + 1, row[column]);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != chunk.size()) {
+                throw new IllegalStateException("Expected " + chunk.size() + " generated ids from " + table
+                        + " but got " + keys.size());
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                // MySQL names the key column GENERATED_KEY, other drivers use the column name
+                Number id = (Number) keys.get(i).values().iterator().next();
+                setId.accept(chunk.get(i), id.longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.authcodelab.smartmoneymanageapp.search;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact in-memory keyword index over one profile's incomes or expenses.
+ * <p>
+ * Names are lower-cased and stored once per document (document = dense int number). Every trigram
+ * of a name maps to an ascending posting list of document numbers (int[]) in an open-addressing
+ * table with primitive long keys, so no boxed collections are involved. A keyword of three or more
+ * characters intersects the posting lists of its trigrams and verifies the few candidates with
+ * String.contains; shorter keywords scan the names. Category names (a handful per profile) are
+ * matched by a scan, and a document also matches when its category does - the same semantics as
+ * the SQL keyword search.
+ * <p>
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public final class TrigramIndex {
+
+    private static final long EMPTY = -1L;
+    private static final int OBJECT_OVERHEAD = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents, by document number
+    private long[] ids;
+    private int[] days; // epoch day of the transaction date
+    private int[] categorySlots;
+    private String[] names; // lower-cased
+    private final BitSet deleted = new BitSet();
+    private int size;
+
+    // Transaction id -> document number
+    private long[] idKeys;
+    private int[] idDocs;
+    private int idCount;
+
+    // Trigram -> posting list
+    private long[] gramKeys;
+    private int[][] postings;
+    private int[] postingSizes;
+    private int gramCount;
+
+    // Categories, by slot
+    private long[] categoryIds = new long[8];
+    private String[] categoryNames = new String[8];
+    private int categoryCount;
+
+    // Running totals for estimatedBytes()
+    private long nameBytes;
+    private long postingBytes;
+
+    public TrigramIndex(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        ids = new long[capacity];
+        days = new int[capacity];
+        categorySlots = new int[capacity];
+        names = new String[capacity];
+        idKeys = newKeyTable(tableSize(capacity));
+        idDocs = new int[idKeys.length];
+        gramKeys = newKeyTable(tableSize(capacity * 4));
+        postings = new int[gramKeys.length][];
+        postingSizes = new int[gramKeys.length];
+    }
+
+    // Adds a transaction; adding an id that is already indexed is a no-op
+    public void add(long id, String name, LocalDate date, long categoryId, String categoryName) {
+        lock.writeLock().lock();
+        try {
+            int existing = findDoc(id);
+            if (existing >= 0 && !deleted.get(existing)) {
+                return;
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                days = Arrays.copyOf(days, capacity);
+                categorySlots = Arrays.copyOf(categorySlots, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            int doc = size++;
+            String lowerName = name != null ? name.toLowerCase(Locale.ROOT) : "";
+            ids[doc] = id;
+            days[doc] = (int) date.toEpochDay();
+            categorySlots[doc] = categorySlot(categoryId, categoryName);
+            names[doc] = lowerName;
+            nameBytes += OBJECT_OVERHEAD * 2 + 2L * lowerName.length();
+            putDoc(id, doc);
+            for (int i = 0; i + 3 <= lowerName.length(); i++) {
+                addPosting(trigram(lowerName, i), doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int doc = findDoc(id);
+            if (doc >= 0) {
+                deleted.set(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the transactions in [from, to] whose name or category name contains the keyword
+    public long[] search(String keyword, LocalDate from, LocalDate to) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            BitSet hits = new BitSet(size);
+
+            boolean[] categoryMatches = new boolean[categoryCount];
+            boolean anyCategory = false;
+            for (int slot = 0; slot < categoryCount; slot++) {
+                categoryMatches[slot] = categoryNames[slot].contains(lowerKeyword);
+                anyCategory |= categoryMatches[slot];
+            }
+
+            if (lowerKeyword.length() >= 3) {
+                int[] candidates = candidates(lowerKeyword);
+                for (int doc : candidates) {
+                    if (names[doc].contains(lowerKeyword)) {
+                        hits.set(doc);
+                    }
+                }
+                if (anyCategory) {
+                    for (int doc = 0; doc < size; doc++) {
+                        if (categoryMatches[categorySlots[doc]]) {
+                            hits.set(doc);
+                        }
+                    }
+                }
+            } else {
+                for (int doc = 0; doc < size; doc++) {
+                    if (categoryMatches[categorySlots[doc]] || names[doc].contains(lowerKeyword)) {
+                        hits.set(doc);
+                    }
+                }
+            }
+
+            hits.andNot(deleted);
+            long[] result = new long[hits.cardinality()];
+            int count = 0;
+            for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+                if (days[doc] >= fromDay && days[doc] <= toDay) {
+                    result[count++] = ids[doc];
+                }
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate heap footprint, used as the cache weight
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long arrays = (long) ids.length * (8 + 4 + 4 + 8)
+                    + (long) idKeys.length * (8 + 4)
+                    + (long) gramKeys.length * (8 + 8 + 4)
+                    + (long) categoryIds.length * (8 + 8);
+            return arrays + nameBytes + postingBytes + deleted.size() / 8;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents containing every trigram of the keyword (intersection of ascending posting lists)
+    private int[] candidates(String keyword) {
+        int gramCountInKeyword = keyword.length() - 2;
+        int[][] lists = new int[gramCountInKeyword][];
+        int[] sizes = new int[gramCountInKeyword];
+        for (int i = 0; i < gramCountInKeyword; i++) {
+            int slot = findSlot(gramKeys, trigram(keyword, i));
+            if (gramKeys[slot] == EMPTY) {
+                return new int[0];
+            }
+            lists[i] = postings[slot];
+            sizes[i] = postingSizes[slot];
+        }
+
+        // Start from the shortest list
+        int shortest = 0;
+        for (int i = 1; i < gramCountInKeyword; i++) {
+            if (sizes[i] < sizes[shortest]) {
+                shortest = i;
+            }
+        }
+        int[] result = Arrays.copyOf(lists[shortest], sizes[shortest]);
+        int resultSize = result.length;
+        for (int i = 0; i < gramCountInKeyword && resultSize > 0; i++) {
+            if (i == shortest) {
+                continue;
+            }
+            int[] other = lists[i];
+            int otherSize = sizes[i];
+            int kept = 0;
+            int j = 0;
+            for (int k = 0; k < resultSize; k++) {
+                int doc = result[k];
+                while (j < otherSize && other[j] < doc) {
+                    j++;
+                }
+                if (j < otherSize && other[j] == doc) {
+                    result[kept++] = doc;
+                }
+            }
+            resultSize = kept;
+        }
+        return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+    }
+
+    private int categorySlot(long categoryId, String categoryName) {
+        String lowerName = categoryName != null ? categoryName.toLowerCase(Locale.ROOT) : "";
+        for (int slot = 0; slot < categoryCount; slot++) {
+            if (categoryIds[slot] == categoryId) {
+                return slot;
+            }
+        }
+        if (categoryCount == categoryIds.length) {
+            categoryIds = Arrays.copyOf(categoryIds, categoryCount * 2);
+            categoryNames = Arrays.copyOf(categoryNames, categoryCount * 2);
+        }
+        categoryIds[categoryCount] = categoryId;
+        categoryNames[categoryCount] = lowerName;
+        nameBytes += OBJECT_OVERHEAD * 2 + 2L * lowerName.length();
+        return categoryCount++;
+    }
+
+    private void addPosting(long gram, int doc) {
+        int slot = findSlot(gramKeys, gram);
+        if (gramKeys[slot] == EMPTY) {
+            if ((gramCount + 1) * 2 > gramKeys.length) {
+                resizeGrams();
+                slot = findSlot(gramKeys, gram);
+            }
+            gramKeys[slot] = gram;
+            postings[slot] = new int[2];
+            postingSizes[slot] = 0;
+            postingBytes += OBJECT_OVERHEAD + 2 * 4;
+            gramCount++;
+        }
+        int[] list = postings[slot];
+        int listSize = postingSizes[slot];
+        // Repeated trigrams in one name ("aaaa") are recorded once
+        if (listSize > 0 && list[listSize - 1] == doc) {
+            return;
+        }
+        if (listSize == list.length) {
+            postings[slot] = list = Arrays.copyOf(list, listSize * 2);
+            postingBytes += 4L * listSize;
+        }
+        list[listSize] = doc;
+        postingSizes[slot] = listSize + 1;
+    }
+
+    private void resizeGrams() {
+        long[] oldKeys = gramKeys;
+        int[][] oldPostings = postings;
+        int[] oldSizes = postingSizes;
+        gramKeys = newKeyTable(oldKeys.length * 2);
+        postings = new int[gramKeys.length][];
+        postingSizes = new int[gramKeys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(gramKeys, oldKeys[i]);
+                gramKeys[slot] = oldKeys[i];
+                postings[slot] = oldPostings[i];
+                postingSizes[slot] = oldSizes[i];
+            }
+        }
+    }
+
+    private int findDoc(long id) {
+        int slot = findSlot(idKeys, id);
+        return idKeys[slot] == EMPTY ? -1 : idDocs[slot];
+    }
+
+    private void putDoc(long id, int doc) {
+        int slot = findSlot(idKeys, id);
+        if (idKeys[slot] == EMPTY) {
+            if ((idCount + 1) * 2 > idKeys.length) {
+                resizeIds();
+                slot = findSlot(idKeys, id);
+            }
+            idKeys[slot] = id;
+            idCount++;
+        }
+        idDocs[slot] = doc;
+    }
+
+    private void resizeIds() {
+        long[] oldKeys = idKeys;
+        int[] oldDocs = idDocs;
+        idKeys = newKeyTable(oldKeys.length * 2);
+        idDocs = new int[idKeys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(idKeys, oldKeys[i]);
+                idKeys[slot] = oldKeys[i];
+                idDocs[slot] = oldDocs[i];
+            }
+        }
+    }
+
+    // Linear probing; returns the key's slot or the empty slot where it would go
+    private static int findSlot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Three UTF-16 chars packed into one non-negative long
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static long[] newKeyTable(int size) {
+        long[] keys = new long[size];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    // Power of two with room for the expected entries at a load factor of 1/2
+    private static int tableSize(int expectedEntries) {
+        return Integer.highestOneBit(Math.max(16, expectedEntries) * 2 - 1) << 1;
+    }
+}
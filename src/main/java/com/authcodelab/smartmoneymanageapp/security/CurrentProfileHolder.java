@@ -0,0 +1,49 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped holder for the profile of the authenticated user.
+ * JwtRequestFilter only knows the id and email (from the cached credentials or the token claims);
+ * the entity is attached on first lookup, as a lazy reference, so a request hits tbl_profiles at most once.
+ */
+@Component
+@RequestScope
+public class CurrentProfileHolder {
+
+    private Long profileId;
+    private String email;
+    private ProfileEntity profile;
+
+    public ProfileEntity getProfile() {
+        return profile;
+    }
+
+    public Long getProfileId() {
+        return profileId;
+    }
+
+    public void setProfile(ProfileEntity profile) {
+        this.profile = profile;
+        this.profileId = profile.getId();
+        this.email = profile.getEmail();
+    }
+
+    // Principal known from token claims only, the entity is resolved lazily
+    public void setPrincipal(Long profileId, String email) {
+        this.profileId = profileId;
+        this.email = email;
+        this.profile = null;
+    }
+
+    // Attach an entity (or lazy reference) for the principal already set
+    public void setProfileReference(ProfileEntity profile) {
+        this.profile = profile;
+    }
+
+    public boolean isResolvedFor(String email) {
+        return this.email != null && this.email.equals(email);
+    }
+}
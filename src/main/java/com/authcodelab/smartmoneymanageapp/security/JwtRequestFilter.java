@@ -1,12 +1,14 @@
 package com.authcodelab.smartmoneymanageapp.security;
 
 import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
@@ -24,19 +27,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtUtill jwtUtill;
+    private final CurrentProfileHolder currentProfileHolder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    // Opt-in: authenticate purely from token claims, without loading the user
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         String email = null;
-        String jwt = null;
+        Claims claims = null;
 
-        // Extract JWT token from Authorization header
+        // Extract JWT token from Authorization header (signature and expiry are verified here, once)
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             try {
-                email = jwtUtill.extractUsername(jwt);
+                claims = jwtUtill.parseClaims(jwt);
+                email = claims.getSubject();
             } catch (Exception e) {
                 // Log the error and continue without setting authentication
                 // This allows public endpoints to work normally
@@ -47,12 +57,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // Set authentication if valid token and user found
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-                if (jwtUtill.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (!statelessEnabled || !authenticateFromClaims(claims, email, request)) {
+                    authenticateFromUserDetails(claims, email, request);
                 }
             } catch (Exception e) {
                 // Log the error and continue without setting authentication
@@ -63,4 +69,58 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Stateless fast path: no repository call, revocation is checked against the in-memory
+     * token version map. Returns false when the token lacks the claims (issued before this mode
+     * existed) or the version map is not loaded yet, so the caller falls back to the database path.
+     */
+    private boolean authenticateFromClaims(Claims claims, String email, HttpServletRequest request) {
+        Long profileId = claims.get(JwtUtill.CLAIM_PROFILE_ID, Long.class);
+        Integer tokenVersion = claims.get(JwtUtill.CLAIM_TOKEN_VERSION, Integer.class);
+        if (profileId == null || tokenVersion == null || !tokenVersionRegistry.isLoaded()) {
+            return false;
+        }
+        if (!tokenVersionRegistry.isCurrent(profileId, tokenVersion)) {
+            log.debug("Rejected revoked token for profile {}", profileId);
+            return true;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                email, null, Collections.emptyList());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        currentProfileHolder.setPrincipal(profileId, email);
+        return true;
+    }
+
+    private void authenticateFromUserDetails(Claims claims, String email, HttpServletRequest request) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+        // Reuse the claims parsed above instead of parsing the token again
+        if (jwtUtill.validateToken(claims, userDetails) && isCurrentVersion(claims, userDetails)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            // Only the id goes to the services; they read the profile itself from the database when needed
+            if (userDetails instanceof ProfileUserDetails profileUserDetails) {
+                currentProfileHolder.setPrincipal(profileUserDetails.getProfileId(), email);
+            }
+        }
+    }
+
+    // Tokens without a version claim predate versioning and count as version 0. The cached user details
+    // may be up to the cache TTL old, so the shared version map (refreshed from the database) is checked too.
+    private boolean isCurrentVersion(Claims claims, UserDetails userDetails) {
+        if (!(userDetails instanceof ProfileUserDetails profileUserDetails)) {
+            return true;
+        }
+        Integer tokenVersion = claims.get(JwtUtill.CLAIM_TOKEN_VERSION, Integer.class);
+        int version = tokenVersion != null ? tokenVersion : 0;
+        if (version < profileUserDetails.getTokenVersion()) {
+            return false;
+        }
+        return !tokenVersionRegistry.isLoaded()
+                || tokenVersionRegistry.isCurrent(profileUserDetails.getProfileId(), version);
+    }
+
 }
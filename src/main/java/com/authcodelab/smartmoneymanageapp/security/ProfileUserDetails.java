@@ -0,0 +1,29 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * UserDetails built from cached UserCredentials (a fresh instance per authentication),
+ * keeping the profile id and token version for the JWT checks.
+ */
+public class ProfileUserDetails extends User {
+
+    private final Long profileId;
+    private final int tokenVersion;
+
+    public ProfileUserDetails(UserCredentials credentials) {
+        super(credentials.email(), credentials.passwordHash(), Collections.emptyList());
+        this.profileId = credentials.profileId();
+        this.tokenVersion = credentials.tokenVersion();
+    }
+
+    public Long getProfileId() {
+        return profileId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
@@ -0,0 +1,133 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory copy of the non-default token versions, used to reject revoked tokens without touching
+ * the database: on its own in the stateless JWT mode, and alongside the (per-node, cached) user
+ * details otherwise, so a revocation made on another node is enforced after the next refresh.
+ * Only profiles that have revoked tokens (token_version > 0) are held, as sorted
+ * primitive arrays; the snapshot is swapped atomically on every refresh.
+ * <p>
+ * Versions only grow, so a refresh is merged into the current snapshot (highest version per profile)
+ * under the same lock as update(): a refresh that read the table just before a local revocation
+ * committed cannot publish over that revocation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+
+    private final ProfileRepository profileRepository;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.stateless.version-refresh-ms:30000}",
+            initialDelayString = "${jwt.stateless.version-refresh-ms:30000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public void refresh() {
+        try {
+            List<ProfileRepository.TokenVersionView> rows = profileRepository.findRevokedTokenVersions();
+            long[] ids = new long[rows.size()];
+            int[] versions = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                ids[i] = rows.get(i).getId();
+                versions[i] = rows.get(i).getTokenVersion();
+            }
+            int revoked = publish(new Snapshot(ids, versions));
+            log.debug("Refreshed token versions: {} revoked profiles", revoked);
+        } catch (Exception e) {
+            // keep serving the previous snapshot
+            log.warn("Failed to refresh token versions: {}", e.getMessage());
+        }
+    }
+
+    // Merges a refreshed snapshot into the current one; returns the number of profiles held
+    private synchronized int publish(Snapshot refreshed) {
+        Snapshot current = snapshot;
+        snapshot = current == null ? refreshed : current.merge(refreshed);
+        return snapshot.ids.length;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    // A token is current if it was issued with the profile's latest version (or later)
+    public boolean isCurrent(long profileId, int tokenVersion) {
+        Snapshot current = snapshot;
+        return current != null && tokenVersion >= current.versionOf(profileId);
+    }
+
+    // Apply a version bump made on this node immediately, ahead of the next refresh
+    public synchronized void update(long profileId, int tokenVersion) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        int index = Arrays.binarySearch(current.ids, profileId);
+        if (index >= 0) {
+            int[] versions = current.versions.clone();
+            versions[index] = Math.max(versions[index], tokenVersion);
+            snapshot = new Snapshot(current.ids, versions);
+        } else {
+            int insertAt = -index - 1;
+            long[] ids = new long[current.ids.length + 1];
+            int[] versions = new int[current.versions.length + 1];
+            System.arraycopy(current.ids, 0, ids, 0, insertAt);
+            System.arraycopy(current.versions, 0, versions, 0, insertAt);
+            ids[insertAt] = profileId;
+            versions[insertAt] = tokenVersion;
+            System.arraycopy(current.ids, insertAt, ids, insertAt + 1, current.ids.length - insertAt);
+            System.arraycopy(current.versions, insertAt, versions, insertAt + 1, current.versions.length - insertAt);
+            snapshot = new Snapshot(ids, versions);
+        }
+    }
+
+    private record Snapshot(long[] ids, int[] versions) {
+
+        int versionOf(long profileId) {
+            int index = Arrays.binarySearch(ids, profileId);
+            return index >= 0 ? versions[index] : 0;
+        }
+
+        // Union of both (sorted) snapshots, keeping the higher version of a profile held by both
+        Snapshot merge(Snapshot other) {
+            long[] mergedIds = new long[ids.length + other.ids.length];
+            int[] mergedVersions = new int[mergedIds.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < ids.length || j < other.ids.length) {
+                if (j == other.ids.length || (i < ids.length && ids[i] < other.ids[j])) {
+                    mergedIds[count] = ids[i];
+                    mergedVersions[count++] = versions[i++];
+                } else if (i == ids.length || other.ids[j] < ids[i]) {
+                    mergedIds[count] = other.ids[j];
+                    mergedVersions[count++] = other.versions[j++];
+                } else {
+                    mergedIds[count] = ids[i];
+                    mergedVersions[count++] = Math.max(versions[i++], other.versions[j++]);
+                }
+            }
+            return new Snapshot(Arrays.copyOf(mergedIds, count), Arrays.copyOf(mergedVersions, count));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+/**
+ * Immutable snapshot of what authentication needs from a profile.
+ * Cached by AppUserDetailsService and shared between concurrent requests; the services never see it,
+ * they resolve the profile itself by id (see CurrentProfileHolder).
+ */
+public record UserCredentials(Long profileId, String email, String passwordHash, boolean active, int tokenVersion) {
+}
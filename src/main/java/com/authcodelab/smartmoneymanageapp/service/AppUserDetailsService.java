@@ -2,27 +2,69 @@ package com.authcodelab.smartmoneymanageapp.service;
 
 import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
 import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.User;
+import com.authcodelab.smartmoneymanageapp.security.ProfileUserDetails;
+import com.authcodelab.smartmoneymanageapp.security.UserCredentials;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AppUserDetailsService implements UserDetailsService {
+
     private final ProfileRepository profileRepository;
+
+    // email -> immutable credentials; bounded and time-limited, evicted on profile changes
+    private final Cache<String, UserCredentials> userCache;
+
+    public AppUserDetailsService(ProfileRepository profileRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${money.manager.security.user-cache.max-size:10000}") long maxSize,
+                                 @Value("${money.manager.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.profileRepository = profileRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=userDetails
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        ProfileEntity existingProfile = profileRepository.findByEmail(email)
+        // A miss loads the profile once; concurrent requests for the same email wait for that load.
+        // Unknown emails are not cached (the loader throws).
+        UserCredentials credentials = userCache.get(email, this::loadCredentials);
+        // A fresh UserDetails per call: Spring Security erases credentials on the returned instance
+        return new ProfileUserDetails(credentials);
+    }
+
+    // Invalidate a cached user after activation, password change or profile update
+    public void evictUser(String email) {
+        if (email != null) {
+            userCache.invalidate(email);
+            log.debug("Evicted cached user details for {}", email);
+        }
+    }
+
+    private UserCredentials loadCredentials(String email) {
+        ProfileEntity profile = profileRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return User.builder()
-                .username(existingProfile.getEmail())
-                .password(existingProfile.getPassword())
-                .authorities(Collections.emptyList())
-                .build();
+        return new UserCredentials(
+                profile.getId(),
+                profile.getEmail(),
+                profile.getPassword(),
+                Boolean.TRUE.equals(profile.getIsActive()),
+                profile.getTokenVersion() != null ? profile.getTokenVersion() : 0);
     }
 }
@@ -1,12 +1,14 @@
 package com.authcodelab.smartmoneymanageapp.service;
 
 import com.authcodelab.smartmoneymanageapp.dto.CategoryDTO;
+import com.authcodelab.smartmoneymanageapp.dto.CategoryRow;
 import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
 import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
 import com.authcodelab.smartmoneymanageapp.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -18,6 +20,7 @@ public class CategoryService {
 
     private final ProfileService profileService;
     private final CategoryRepository categoryRepository;
+    private final KeywordIndexService keywordIndexService;
 
     // save category
     public CategoryDTO saveCategory(CategoryDTO categoryDTO) {
@@ -32,16 +35,18 @@ public class CategoryService {
     }
 
     // get categories for current users
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoriesForCurrentUser() {
         ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> categories = categoryRepository.findByProfileId(profile.getId());
+        List<CategoryRow> categories = categoryRepository.findRowsByProfileId(profile.getId());
         return categories.stream().map(this::toDTO).toList();
     }
 
     // get category by type for current user
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoryByTypeForCurrentUser(String type) {
         ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> categories = categoryRepository.findByTypeAndProfileId(type, profile.getId());
+        List<CategoryRow> categories = categoryRepository.findRowsByTypeAndProfileId(type, profile.getId());
         return categories.stream().map(this::toDTO).toList();
     }
 
@@ -53,6 +58,8 @@ public class CategoryService {
         existingCategory.setName(categoryDTO.getName());
         existingCategory.setIcon(categoryDTO.getIcon());
         existingCategory = categoryRepository.save(existingCategory);
+        // Keyword matches include the category name
+        keywordIndexService.invalidateProfile(profile.getId());
 
         return toDTO(existingCategory);
     }
@@ -79,4 +86,16 @@ public class CategoryService {
                 .build();
     }
 
+    private CategoryDTO toDTO(CategoryRow row) {
+        return CategoryDTO.builder()
+                .id(row.id())
+                .name(row.name())
+                .icon(row.icon())
+                .profileId(row.profileId())
+                .type(row.type())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
 }
@@ -3,10 +3,18 @@ package com.authcodelab.smartmoneymanageapp.service;
 import com.authcodelab.smartmoneymanageapp.dto.ExpenseDTO;
 import com.authcodelab.smartmoneymanageapp.dto.IncomeDTO;
 import com.authcodelab.smartmoneymanageapp.dto.RecentTransactionDTO;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileBalanceEntity;
 import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.DashboardRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,15 +25,26 @@ import static java.util.stream.Stream.concat;
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
+    private static final int RECENT_LIMIT = 5;
+
+    private final DashboardRepository dashboardRepository;
     private final ProfileService profileService;
+    private final ProfileBalanceService profileBalanceService;
 
     public Map<String, Object> getDashboardData() {
         ProfileEntity profile = profileService.getCurrentProfile();
         Map<String, Object> returnValue = new LinkedHashMap<>();
-        List<IncomeDTO> latestIncomes = incomeService.getLatest5ExpensesForCurrentUser();
-        List<ExpenseDTO> latestExpenses = expenseService.getLatest5ExpensesForCurrentUser();
+
+        // Latest incomes and expenses come back together from one query
+        List<IncomeDTO> latestIncomes = new ArrayList<>();
+        List<ExpenseDTO> latestExpenses = new ArrayList<>();
+        for (Object[] row : dashboardRepository.findRecentTransactions(profile.getId(), RECENT_LIMIT)) {
+            if ("income".equals(String.valueOf(row[0]))) {
+                latestIncomes.add(toIncomeDTO(row));
+            } else {
+                latestExpenses.add(toExpenseDTO(row));
+            }
+        }
 
         List<RecentTransactionDTO> recentTransactions = concat(
                 latestIncomes.stream().map(income ->
@@ -60,12 +79,14 @@ public class DashboardService {
                         return cmp;
                 }).toList();
 
-        returnValue.put("totalBalance",
-                incomeService.getTotalExpensesForCurrentUser()
-                        .subtract(expenseService.getTotalExpensesForCurrentUser()));
+        // Totals come from the balance ledger (primary-key lookup)
+        ProfileBalanceEntity balance = profileBalanceService.getBalance(profile.getId());
+        BigDecimal totalIncome = balance.getTotalIncome();
+        BigDecimal totalExpense = balance.getTotalExpense();
 
-        returnValue.put("totalIncome", incomeService.getTotalExpensesForCurrentUser());
-        returnValue.put("totalExpense", expenseService.getTotalExpensesForCurrentUser());
+        returnValue.put("totalBalance", totalIncome.subtract(totalExpense));
+        returnValue.put("totalIncome", totalIncome);
+        returnValue.put("totalExpense", totalExpense);
         returnValue.put("recent5Expenses", latestExpenses);
         returnValue.put("recent5Incomes", latestIncomes);
         returnValue.put("recentTransactions", recentTransactions);
@@ -73,4 +94,73 @@ public class DashboardService {
         return returnValue;
     }
 
+    // helper methods to map a recent-transaction row (see DashboardRepository#findRecentTransactions)
+    private IncomeDTO toIncomeDTO(Object[] row) {
+        Long categoryId = toLong(row[8]);
+        IncomeDTO.CategoryInfo categoryInfo = null;
+        if (categoryId != null) {
+            categoryInfo = IncomeDTO.CategoryInfo.builder()
+                    .id(categoryId)
+                    .name((String) row[9])
+                    .icon((String) row[10])
+                    .build();
+        }
+
+        return IncomeDTO.builder()
+                .id(toLong(row[1]))
+                .name((String) row[2])
+                .icon((String) row[3])
+                .categoryId(categoryId)
+                .categoryName(categoryId != null ? (String) row[9] : "N/A")
+                .category(categoryInfo)
+                .amount((BigDecimal) row[4])
+                .date(toLocalDate(row[5]))
+                .createdAt(toLocalDateTime(row[6]))
+                .updatedAt(toLocalDateTime(row[7]))
+                .build();
+    }
+
+    private ExpenseDTO toExpenseDTO(Object[] row) {
+        Long categoryId = toLong(row[8]);
+        ExpenseDTO.CategoryInfo categoryInfo = null;
+        if (categoryId != null) {
+            categoryInfo = ExpenseDTO.CategoryInfo.builder()
+                    .id(categoryId)
+                    .name((String) row[9])
+                    .icon((String) row[10])
+                    .build();
+        }
+
+        return ExpenseDTO.builder()
+                .id(toLong(row[1]))
+                .name((String) row[2])
+                .icon((String) row[3])
+                .categoryId(categoryId)
+                .categoryName(categoryId != null ? (String) row[9] : "N/A")
+                .category(categoryInfo)
+                .amount((BigDecimal) row[4])
+                .date(toLocalDate(row[5]))
+                .createdAt(toLocalDateTime(row[6]))
+                .updatedAt(toLocalDateTime(row[7]))
+                .build();
+    }
+
+    private Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
 }
@@ -0,0 +1,173 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Sends bulk emails (scheduled jobs) concurrently, with at most max-concurrent messages in flight
+ * across all jobs so we stay within the SMTP relay's limits.
+ * reserved-transactional of those permits are kept for transactional batches (the outbox), so an
+ * activation email never waits behind a whole nightly run; bulk batches only use the rest.
+ * Submitting blocks while all permits are taken, which keeps the number of queued messages
+ * (and their bodies) bounded no matter how many recipients a job has.
+ * Sends run on platform threads on purpose: Jakarta Mail's SMTPTransport holds its monitor
+ * (synchronized connect/sendMessage) across socket I/O, which would pin virtual-thread carriers.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher {
+
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore sharedPermits;
+    // null when nothing is reserved (max-concurrent of 1)
+    private final Semaphore reservedPermits;
+    private final ExecutorService executor;
+    private final Timer sendTimer;
+
+    public EmailDispatcher(EmailService emailService,
+                           MeterRegistry meterRegistry,
+                           @Value("${money.manager.email.dispatch.max-concurrent:8}") int maxConcurrent,
+                           @Value("${money.manager.email.dispatch.reserved-transactional:2}") int reservedTransactional) {
+        this.emailService = emailService;
+        this.meterRegistry = meterRegistry;
+        // Bulk jobs always keep at least one permit
+        int reserved = Math.max(0, Math.min(reservedTransactional, maxConcurrent - 1));
+        this.sharedPermits = new Semaphore(maxConcurrent - reserved);
+        this.reservedPermits = reserved > 0 ? new Semaphore(reserved) : null;
+        // One worker per permit, so a submitted message never waits in the executor queue
+        this.executor = Executors.newFixedThreadPool(maxConcurrent,
+                Thread.ofPlatform().name("email-dispatch-", 0).daemon(true).factory());
+        this.sendTimer = Timer.builder("money.manager.email.send")
+                .description("Time to hand one message to the SMTP relay")
+                .register(meterRegistry);
+        meterRegistry.gauge("money.manager.email.in.flight", this, dispatcher -> maxConcurrent
+                - dispatcher.sharedPermits.availablePermits()
+                - (dispatcher.reservedPermits != null ? dispatcher.reservedPermits.availablePermits() : 0));
+    }
+
+    public record DispatchResult(long sent, long failed) {
+    }
+
+    // Start a batch for one bulk job run; submit messages to it and await its completion
+    public Batch openBatch(String job) {
+        return new Batch(job, false);
+    }
+
+    // Same as openBatch, for transactional mail that may also use the reserved permits
+    public Batch openTransactionalBatch(String job) {
+        return new Batch(job, true);
+    }
+
+    // Transactional mail takes a shared permit when one is free and otherwise waits for a reserved one
+    private Semaphore acquirePermit(boolean transactional) throws InterruptedException {
+        if (!transactional || reservedPermits == null) {
+            sharedPermits.acquire();
+            return sharedPermits;
+        }
+        if (sharedPermits.tryAcquire()) {
+            return sharedPermits;
+        }
+        reservedPermits.acquire();
+        return reservedPermits;
+    }
+
+    public class Batch {
+
+        private final String job;
+        private final boolean transactional;
+        // One party for the batch owner, plus one per message in flight
+        private final Phaser inFlight = new Phaser(1);
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final Counter sentCounter;
+        private final Counter failedCounter;
+
+        private Batch(String job, boolean transactional) {
+            this.job = job;
+            this.transactional = transactional;
+            this.sentCounter = meterRegistry.counter("money.manager.email.messages", "job", job, "outcome", "sent");
+            this.failedCounter = meterRegistry.counter("money.manager.email.messages", "job", job, "outcome", "failed");
+        }
+
+        public void submit(String to, String subject, String body) {
+            submit(to, subject, body, null);
+        }
+
+        // Same as submit, and reports the outcome of this message (null error = sent) on its worker thread
+        public void submit(String to, String subject, String body, Consumer<RuntimeException> onComplete) {
+            Semaphore permit;
+            try {
+                permit = acquirePermit(transactional);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while queueing email for " + job, e);
+            }
+            inFlight.register();
+            try {
+                executor.execute(() -> send(to, subject, body, onComplete, permit));
+            } catch (RuntimeException e) {
+                permit.release();
+                inFlight.arriveAndDeregister();
+                throw e;
+            }
+        }
+
+        // Blocks until every submitted message has been sent or has failed
+        public DispatchResult await() {
+            inFlight.arriveAndAwaitAdvance();
+            DispatchResult result = new DispatchResult(sent.get(), failed.get());
+            log.info("Email batch '{}' finished: {} sent, {} failed", job, result.sent(), result.failed());
+            return result;
+        }
+
+        private void send(String to, String subject, String body, Consumer<RuntimeException> onComplete,
+                          Semaphore permit) {
+            long start = System.nanoTime();
+            RuntimeException error = null;
+            try {
+                emailService.sendEmail(to, subject, body);
+                sent.incrementAndGet();
+                sentCounter.increment();
+            } catch (RuntimeException e) {
+                error = e;
+                failed.incrementAndGet();
+                failedCounter.increment();
+                log.warn("Email batch '{}': failed to send to {}: {}", job, to, e.getMessage());
+            }
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            try {
+                if (onComplete != null) {
+                    onComplete.accept(error);
+                }
+            } catch (RuntimeException e) {
+                log.error("Email batch '{}': completion callback failed for {}", job, to, e);
+            } finally {
+                permit.release();
+                inFlight.arriveAndDeregister();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Email dispatcher did not finish in-flight messages before shutdown");
+            executor.shutdownNow();
+        }
+    }
+}
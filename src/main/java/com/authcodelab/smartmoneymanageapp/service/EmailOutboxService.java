@@ -0,0 +1,176 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.entity.EmailOutboxEntity;
+import com.authcodelab.smartmoneymanageapp.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional email outbox.
+ * Business code calls {@link #enqueue} inside its own transaction, so the email exists if and only if
+ * the change committed, and the request never waits on SMTP. A scheduled worker claims due rows,
+ * sends them through the EmailDispatcher and retries failures with exponential backoff until
+ * max-attempts, after which the row is dead-lettered (status DEAD) for inspection.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailDispatcher emailDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong pendingGauge = new AtomicLong();
+    private final AtomicLong deadGauge = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+
+    @Value("${money.manager.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${money.manager.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${money.manager.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${money.manager.email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    // How long a claimed message is hidden from other workers while it is being sent
+    @Value("${money.manager.email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${money.manager.email.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private record OutboxMessage(Long id, String recipient, String subject, String body, int attempts) {
+    }
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository,
+                              EmailDispatcher emailDispatcher,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailDispatcher = emailDispatcher;
+        this.transactionTemplate = transactionTemplate;
+        meterRegistry.gauge("money.manager.email.outbox.messages", Tags.of("status", "pending"), pendingGauge);
+        meterRegistry.gauge("money.manager.email.outbox.messages", Tags.of("status", "dead"), deadGauge);
+        this.sentCounter = meterRegistry.counter("money.manager.email.outbox.deliveries", "outcome", "sent");
+        this.retriedCounter = meterRegistry.counter("money.manager.email.outbox.deliveries", "outcome", "retried");
+        this.deadLetteredCounter = meterRegistry.counter("money.manager.email.outbox.deliveries", "outcome", "dead");
+    }
+
+    // Queue an email as part of the caller's transaction; it is sent only after that transaction commits
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(EmailOutboxEntity.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxEntity.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${money.manager.email.outbox.poll-ms:2000}")
+    public void drain() {
+        int claimed;
+        do {
+            List<OutboxMessage> messages = claimDueMessages();
+            claimed = messages.size();
+            if (claimed == 0) {
+                break;
+            }
+            EmailDispatcher.Batch batch = emailDispatcher.openTransactionalBatch("outbox");
+            for (OutboxMessage message : messages) {
+                batch.submit(message.recipient(), message.subject(), message.body(),
+                        error -> recordOutcome(message, error));
+            }
+            batch.await();
+        } while (claimed == batchSize);
+        refreshGauges();
+    }
+
+    @Scheduled(cron = "${money.manager.email.outbox.purge-cron:0 15 2 * * *}", zone = "IST")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer purged = transactionTemplate.execute(status ->
+                emailOutboxRepository.deleteSentBefore(EmailOutboxEntity.Status.SENT, cutoff));
+        log.info("Purged {} delivered outbox messages older than {}", purged, cutoff);
+    }
+
+    // Lock a batch of due rows and lease them (attempts + 1, next_attempt_at pushed forward) in one short transaction
+    private List<OutboxMessage> claimDueMessages() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxEntity> due = emailOutboxRepository.lockDueMessages(now, batchSize);
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            return due.stream().map(entity -> {
+                entity.setAttempts(entity.getAttempts() + 1);
+                entity.setNextAttemptAt(leaseUntil);
+                return new OutboxMessage(entity.getId(), entity.getRecipient(), entity.getSubject(),
+                        entity.getBody(), entity.getAttempts());
+            }).toList();
+        });
+    }
+
+    private void recordOutcome(OutboxMessage message, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            transactionTemplate.executeWithoutResult(status ->
+                    emailOutboxRepository.markSent(message.id(), EmailOutboxEntity.Status.SENT, now));
+            sentCounter.increment();
+            return;
+        }
+
+        String reason = describe(error);
+        if (message.attempts() >= maxAttempts) {
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.markFailed(
+                    message.id(), EmailOutboxEntity.Status.DEAD, now, reason, now));
+            deadLetteredCounter.increment();
+            log.error("Outbox message {} to {} dead-lettered after {} attempts: {}",
+                    message.id(), message.recipient(), message.attempts(), reason);
+        } else {
+            LocalDateTime nextAttemptAt = now.plus(backoff(message.attempts()));
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.markFailed(
+                    message.id(), EmailOutboxEntity.Status.PENDING, nextAttemptAt, reason, now));
+            retriedCounter.increment();
+            log.warn("Outbox message {} to {} failed (attempt {}), retrying at {}: {}",
+                    message.id(), message.recipient(), message.attempts(), nextAttemptAt, reason);
+        }
+    }
+
+    // initial * 2^(attempt-1), capped
+    private Duration backoff(int attempt) {
+        long factor = 1L << Math.min(attempt - 1, 20);
+        return Duration.ofSeconds(Math.min(initialBackoffSeconds * factor, maxBackoffSeconds));
+    }
+
+    private String describe(RuntimeException error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        String text = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text;
+    }
+
+    private void refreshGauges() {
+        pendingGauge.set(emailOutboxRepository.countByStatus(EmailOutboxEntity.Status.PENDING));
+        deadGauge.set(emailOutboxRepository.countByStatus(EmailOutboxEntity.Status.DEAD));
+    }
+}
@@ -1,28 +1,24 @@
 package com.authcodelab.smartmoneymanageapp.service;
 
-import com.authcodelab.smartmoneymanageapp.dto.ExpenseEmailDTO;
-import com.authcodelab.smartmoneymanageapp.dto.IncomeEmailDTO;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import jakarta.mail.internet.MimeMessage;
 
-import java.io.ByteArrayOutputStream;
-import java.math.BigDecimal;
-import java.util.List;
+import java.io.File;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final SmtpTransportPool smtpTransportPool;
 
     @Value("${spring.mail.properties.mail.smtp.from}")
     private String fromEmail;
@@ -35,7 +31,7 @@ public class EmailService {
             // 2. Use the Helper (true = multipart mode)
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
-            helper.setFrom("authn.sapuarachchi@gmail.com");
+            helper.setFrom(fromEmail);
 
             helper.setTo(to);
             helper.setSubject(subject);
@@ -43,130 +39,39 @@ public class EmailService {
             // 3. Set the body and toggle 'true' for HTML
             helper.setText(body, true);
 
-            // 4. Send
-            mailSender.send(message);
-            System.out.println("Mail sent successfully to " + to);
+            // 4. Send (over a pooled, already authenticated connection when pooling is enabled)
+            if (smtpTransportPool.isEnabled()) {
+                smtpTransportPool.send(message);
+            } else {
+                mailSender.send(message);
+            }
+            log.info("Mail sent successfully to {}", to);
 
         } catch (MessagingException e) {
-            e.printStackTrace();
-            // Log the error properly in production
+            log.error("Failed to send email to {}", to, e);
             throw new RuntimeException("Failed to send email", e);
         }
     }
 
-    public void sendIncomeReport(String to, List<IncomeEmailDTO> incomes) throws Exception {
-        // Build Excel file
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (XSSFWorkbook wb = new XSSFWorkbook()) {
-            Sheet sheet = wb.createSheet("Income Report");
-
-            // Create header row
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Date");
-            header.createCell(1).setCellValue("Source");
-            header.createCell(2).setCellValue("Amount");
-            header.createCell(3).setCellValue("Description");
-
-            // Add data rows
-            int rowNum = 1;
-            for (IncomeEmailDTO dto : incomes) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(dto.getDate() != null ? dto.getDate().toString() : "");
-                row.createCell(1).setCellValue(dto.getSource() != null ? dto.getSource() : "");
-                row.createCell(2).setCellValue(dto.getAmount() != null ? dto.getAmount().doubleValue() : 0.0);
-                row.createCell(3).setCellValue(dto.getDescription() != null ? dto.getDescription() : "");
-            }
-
-            // Auto-size columns
-            for (int i = 0; i < 4; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            wb.write(baos);
-        }
-
-        byte[] excelFile = baos.toByteArray();
-
-        // Calculate total
-        BigDecimal total = incomes.stream()
-                .map(i -> i.getAmount() != null ? i.getAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Send email with attachment
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject("Income Report");
-
-        String htmlBody = "<html><body>" +
-                "<h2>Income Report</h2>" +
-                "<p>Please find attached the complete income report.</p>" +
-                "<p><strong>Total Income: </strong>" + total + "</p>" +
-                "<p><strong>Total Records: </strong>" + incomes.size() + "</p>" +
-                "</body></html>";
-
-        helper.setText(htmlBody, true);
-        helper.addAttachment("income-report.xlsx", new ByteArrayResource(excelFile));
-
-        mailSender.send(message);
-    }
-
-    public void sendExpenseReport(String to, List<ExpenseEmailDTO> expenses) throws Exception {
-        // Build Excel file
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (XSSFWorkbook wb = new XSSFWorkbook()) {
-            Sheet sheet = wb.createSheet("Expense Report");
-
-            // Create header row
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Date");
-            header.createCell(1).setCellValue("Source");
-            header.createCell(2).setCellValue("Amount");
-            header.createCell(3).setCellValue("Description");
-
-            // Add data rows
-            int rowNum = 1;
-            for (ExpenseEmailDTO dto : expenses) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(dto.getDate() != null ? dto.getDate().toString() : "");
-                row.createCell(1).setCellValue(dto.getSource() != null ? dto.getSource() : "");
-                row.createCell(2).setCellValue(dto.getAmount() != null ? dto.getAmount().doubleValue() : 0.0);
-                row.createCell(3).setCellValue(dto.getDescription() != null ? dto.getDescription() : "");
-            }
+    // Send an HTML email with one file attachment (report jobs); the file is streamed from disk
+    public void sendEmailWithAttachment(String to, String subject, String htmlBody,
+                                        String attachmentName, File attachment) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(htmlBody, true);
+            helper.addAttachment(attachmentName, new FileSystemResource(attachment));
 
-            // Auto-size columns
-            for (int i = 0; i < 4; i++) {
-                sheet.autoSizeColumn(i);
+            if (smtpTransportPool.isEnabled()) {
+                smtpTransportPool.send(message);
+            } else {
+                mailSender.send(message);
             }
-
-            wb.write(baos);
+        } catch (MessagingException e) {
+            throw new RuntimeException("Failed to send email", e);
         }
-
-        byte[] excelFile = baos.toByteArray();
-
-        // Calculate total
-        BigDecimal total = expenses.stream()
-                .map(e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Send email with attachment
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject("Expense Report");
-
-        String htmlBody = "<html><body>" +
-                "<h2>Expense Report</h2>" +
-                "<p>Please find attached the complete expense report.</p>" +
-                "<p><strong>Total Expense: </strong>" + total + "</p>" +
-                "<p><strong>Total Records: </strong>" + expenses.size() + "</p>" +
-                "</body></html>";
-
-        helper.setText(htmlBody, true);
-        helper.addAttachment("expense-report.xlsx", new ByteArrayResource(excelFile));
-
-        mailSender.send(message);
     }
 }
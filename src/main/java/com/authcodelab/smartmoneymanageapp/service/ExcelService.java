@@ -1,79 +1,122 @@
 package com.authcodelab.smartmoneymanageapp.service;
 
-import com.authcodelab.smartmoneymanageapp.dto.ExpenseDTO;
-import com.authcodelab.smartmoneymanageapp.dto.IncomeDTO;
+import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
+import com.authcodelab.smartmoneymanageapp.entity.IncomeEntity;
+import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.IncomeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.List;
-import java.util.stream.IntStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * Streaming Excel export: rows are read from a JDBC result stream and written through an
+ * SXSSFWorkbook that keeps only a small window of rows in memory (older rows are flushed to a
+ * compressed temp file), so heap use does not grow with the size of the export.
+ */
 @Service
+@RequiredArgsConstructor
 public class ExcelService {
-    public void writeIncomesToExcel(OutputStream os, List<IncomeDTO> incomes) throws IOException {
-        // Implementation for writing income data to Excel
-        try(Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Incomes");
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("S.No");
-            header.createCell(1).setCellValue("Name");
-            header.createCell(2).setCellValue("Category");
-            header.createCell(3).setCellValue("Amount");
-            header.createCell(4).setCellValue("Date");
 
-            IntStream.range(0, incomes.size())
-                    .forEach(i -> {
-                        IncomeDTO income = incomes.get(i);
-                        Row row = sheet.createRow(i + 1);
-                        row.createCell(0).setCellValue(i + 1);
-                        row.createCell(1).setCellValue(income.getName() != null ? income.getName() : "N/A");
-                        row.createCell(2).setCellValue(income.getCategoryId() != null ? income.getCategoryName() : "N/A");
-                        row.createCell(3).setCellValue(income.getAmount() != null ? income.getAmount().doubleValue() : 0.0);
-                        row.createCell(4).setCellValue(income.getDate() != null ? income.getDate().toString() : "N/A");
-                    });
+    private static final String[] HEADERS = {"S.No", "Name", "Category", "Amount", "Date"};
+    // Fixed widths (in characters): autoSizeColumn would measure every cell with AWT fonts
+    private static final int[] COLUMN_WIDTHS = {8, 32, 24, 14, 12};
 
-            // Auto-size columns for better readability
-            for (int i = 0; i < 5; i++) {
-                sheet.autoSizeColumn(i);
-            }
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final EntityManager entityManager;
 
-            workbook.write(os);
+    // Rows kept in memory before SXSSF flushes them to disk
+    @Value("${money.manager.excel.row-window:100}")
+    private int rowWindow;
+
+    private record SheetRow(String name, String category, BigDecimal amount, LocalDate date) {
+    }
+
+    // What was written: number of data rows and the sum of their amounts
+    public record SheetSummary(long rows, BigDecimal total) {
+    }
+
+    @Transactional(readOnly = true)
+    public SheetSummary writeIncomesToExcel(OutputStream os, Long profileId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        try (Stream<IncomeEntity> incomes = incomeRepository.streamByProfileIdAndDateBetween(profileId, startDate, endDate)) {
+            return writeSheet(os, "Incomes", incomes.iterator(), income -> {
+                // Detach as we go so the persistence context stays empty
+                entityManager.detach(income);
+                return new SheetRow(income.getName(), categoryName(income.getCategory()),
+                        income.getAmount(), income.getDate());
+            });
         }
     }
 
-    public void writeExpensesToExcel(OutputStream os, List<ExpenseDTO> expenses) throws IOException {
-        // Implementation for writing expense data to Excel
-        try(Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Expenses");
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("S.No");
-            header.createCell(1).setCellValue("Name");
-            header.createCell(2).setCellValue("Category");
-            header.createCell(3).setCellValue("Amount");
-            header.createCell(4).setCellValue("Date");
+    @Transactional(readOnly = true)
+    public SheetSummary writeExpensesToExcel(OutputStream os, Long profileId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        try (Stream<ExpenseEntity> expenses = expenseRepository.streamByProfileIdAndDateBetween(profileId, startDate, endDate)) {
+            return writeSheet(os, "Expenses", expenses.iterator(), expense -> {
+                // Detach as we go so the persistence context stays empty
+                entityManager.detach(expense);
+                return new SheetRow(expense.getName(), categoryName(expense.getCategory()),
+                        expense.getAmount(), expense.getDate());
+            });
+        }
+    }
+
+    private <T> SheetSummary writeSheet(OutputStream os, String sheetName, Iterator<T> source,
+                                Function<T, SheetRow> mapper) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet(sheetName);
+            for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
 
-            IntStream.range(0, expenses.size())
-                    .forEach(i -> {
-                        ExpenseDTO expense = expenses.get(i);
-                        Row row = sheet.createRow(i + 1);
-                        row.createCell(0).setCellValue(i + 1);
-                        row.createCell(1).setCellValue(expense.getName() != null ? expense.getName() : "N/A");
-                        row.createCell(2).setCellValue(expense.getCategoryId() != null ? expense.getCategoryName() : "N/A");
-                        row.createCell(3).setCellValue(expense.getAmount() != null ? expense.getAmount().doubleValue() : 0.0);
-                        row.createCell(4).setCellValue(expense.getDate() != null ? expense.getDate().toString() : "N/A");
-                    });
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
 
-            // Auto-size columns for better readability
-            for (int i = 0; i < 5; i++) {
-                sheet.autoSizeColumn(i);
+            int rowNum = 1;
+            BigDecimal total = BigDecimal.ZERO;
+            while (source.hasNext()) {
+                SheetRow data = mapper.apply(source.next());
+                if (data.amount() != null) {
+                    total = total.add(data.amount());
+                }
+                Row row = sheet.createRow(rowNum);
+                row.createCell(0).setCellValue(rowNum);
+                row.createCell(1).setCellValue(data.name() != null ? data.name() : "N/A");
+                row.createCell(2).setCellValue(data.category());
+                row.createCell(3).setCellValue(data.amount() != null ? data.amount().doubleValue() : 0.0);
+                row.createCell(4).setCellValue(data.date() != null ? data.date().toString() : "N/A");
+                rowNum++;
             }
 
             workbook.write(os);
+            return new SheetSummary(rowNum - 1, total);
+        } finally {
+            // Remove the temp files backing the flushed rows
+            workbook.dispose();
+            workbook.close();
         }
     }
+
+    private String categoryName(CategoryEntity category) {
+        return category != null ? category.getName() : "N/A";
+    }
 }
@@ -1,49 +1,147 @@
 package com.authcodelab.smartmoneymanageapp.service;
 
+import com.authcodelab.smartmoneymanageapp.dto.CursorPageDTO;
 import com.authcodelab.smartmoneymanageapp.dto.ExpenseDTO;
+import com.authcodelab.smartmoneymanageapp.dto.ExpenseRow;
 import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
 import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
 import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
 import com.authcodelab.smartmoneymanageapp.repository.CategoryRepository;
 import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.TransactionBatchRepository;
+import com.authcodelab.smartmoneymanageapp.util.CursorCodec;
+import com.authcodelab.smartmoneymanageapp.util.FullTextKeyword;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cglib.core.Local;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ExpenseService {
 
+    // Ids per IN query when reading the rows of a keyword search
+    private static final int ID_CHUNK_SIZE = 1000;
+
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
     private final ProfileService profileService;
+    private final ProfileBalanceService profileBalanceService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CursorCodec cursorCodec;
+    private final KeywordIndexService keywordIndexService;
+    private final TransactionBatchRepository transactionBatchRepository;
+
+    // MySQL n-gram full-text indexes (V6); off for databases without them
+    @Value("${money.manager.search.fulltext.enabled:false}")
+    private boolean fullTextSearchEnabled;
+
+    @Value("${money.manager.batch.max-items:10000}")
+    private int maxBatchItems;
 
     // add expense
+    @Transactional
     public ExpenseDTO addExpense(ExpenseDTO expenseDTO) {
         ProfileEntity profile = profileService.getCurrentProfile();
         CategoryEntity category = categoryRepository.findById(expenseDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         ExpenseEntity newExpense = toEntity(expenseDTO, profile, category);
         newExpense = expenseRepository.save(newExpense);
+        profileBalanceService.recordExpense(profile.getId(), newExpense.getAmount(), 1);
+        monthlyRollupService.record(profile.getId(), MonthlyRollupService.TYPE_EXPENSE, category.getId(),
+                newExpense.getDate(), newExpense.getAmount(), 1);
+        keywordIndexService.recordAdded(profile.getId(), KeywordIndexService.TYPE_EXPENSE, newExpense.getId(),
+                newExpense.getName(), newExpense.getDate(), category.getId(), category.getName());
         return toDTO(newExpense);
     }
 
+    // add expenses in bulk: one category lookup, JDBC-batched inserts, aggregated ledger and rollup updates
+    @Transactional
+    public List<ExpenseDTO> addExpenses(List<ExpenseDTO> expenseDTOs) {
+        if (expenseDTOs == null || expenseDTOs.isEmpty()) {
+            throw new BadRequestException("At least one expense is required");
+        }
+        if (expenseDTOs.size() > maxBatchItems) {
+            throw new BadRequestException("At most " + maxBatchItems + " expenses can be added in one request");
+        }
+        ProfileEntity profile = profileService.getCurrentProfile();
+
+        // Every category id is checked against the profile's categories in a single query
+        Set<Long> categoryIds = new HashSet<>();
+        for (ExpenseDTO dto : expenseDTOs) {
+            if (dto.getCategoryId() == null) {
+                throw new BadRequestException("Every expense needs a categoryId");
+            }
+            categoryIds.add(dto.getCategoryId());
+        }
+        Map<Long, CategoryEntity> categories = categoryRepository.findByIdInAndProfileId(categoryIds, profile.getId())
+                .stream()
+                .collect(Collectors.toMap(CategoryEntity::getId, Function.identity()));
+        categoryIds.removeAll(categories.keySet());
+        if (!categoryIds.isEmpty()) {
+            throw new BadRequestException("Category not found: " + categoryIds);
+        }
+
+        // Inserted as JDBC batches (see TransactionBatchRepository); the entities only carry the values
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpenseEntity> saved = expenseDTOs.stream()
+                .map(dto -> {
+                    ExpenseEntity entity = toEntity(dto, profile, categories.get(dto.getCategoryId()));
+                    if (entity.getDate() == null) {
+                        entity.setDate(now.toLocalDate());
+                    }
+                    entity.setCreatedAt(now);
+                    entity.setUpdatedAt(now);
+                    return entity;
+                })
+                .toList();
+        transactionBatchRepository.insertExpenses(saved);
+
+        BigDecimal total = saved.stream()
+                .map(ExpenseEntity::getAmount)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        profileBalanceService.recordExpense(profile.getId(), total, saved.size());
+        monthlyRollupService.recordAll(profile.getId(), MonthlyRollupService.TYPE_EXPENSE, saved.stream()
+                .map(entity -> new MonthlyRollupService.Entry(entity.getCategory().getId(), entity.getDate(),
+                        entity.getAmount()))
+                .toList());
+        // Cheaper to rebuild the keyword index on the next search than to apply thousands of additions
+        keywordIndexService.invalidateProfile(profile.getId());
+        return saved.stream().map(this::toDTO).toList();
+    }
+
     // Retrives all expenses for current month/based on the date and end date
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getCurrentMonthExpensesForCurrentUser() {
         ProfileEntity profile = profileService.getCurrentProfile();
         LocalDate now = LocalDate.now();
         LocalDate startDate = now.withDayOfMonth(1);
         LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDateBetween(profile.getId(), startDate, endDate);
+        List<ExpenseRow> list = expenseRepository.findRowsByProfileIdAndDateBetween(profile.getId(), startDate, endDate,
+                Sort.unsorted());
         return list.stream().map(this::toDTO).toList();
     }
 
     // delete expenses
+    @Transactional
     public void deleteExpense(Long expenseId) {
         ProfileEntity profile = profileService.getCurrentProfile();
         ExpenseEntity existingExpense = expenseRepository.findById(expenseId)
@@ -52,16 +150,23 @@ public class ExpenseService {
             throw new RuntimeException("Unauthorized to delete this expense");
         }
         expenseRepository.delete(existingExpense);
+        BigDecimal amount = existingExpense.getAmount() != null ? existingExpense.getAmount() : BigDecimal.ZERO;
+        profileBalanceService.recordExpense(profile.getId(), amount.negate(), -1);
+        monthlyRollupService.record(profile.getId(), MonthlyRollupService.TYPE_EXPENSE, existingExpense.getCategory().getId(),
+                existingExpense.getDate(), amount.negate(), -1);
+        keywordIndexService.recordDeleted(profile.getId(), KeywordIndexService.TYPE_EXPENSE, existingExpense.getId());
     }
 
     // Get latest 5 expenses fr current user
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getLatest5ExpensesForCurrentUser() {
         ProfileEntity profile = profileService.getCurrentProfile();
-        List<ExpenseEntity> list = expenseRepository.findTop5ByProfileIdOrderByDateDesc(profile.getId());
+        List<ExpenseRow> list = expenseRepository.findLatestRows(profile.getId(), Limit.of(5));
         return list.stream().map(this::toDTO).toList();
     }
 
     // Get total expenses for current user
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesForCurrentUser() {
         ProfileEntity profile = profileService.getCurrentProfile();
         BigDecimal total = expenseRepository.findTotalExpenseByProfileId(profile.getId());
@@ -69,36 +174,114 @@ public class ExpenseService {
     }
 
     // filter expenses
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> filterExpenses(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
         ProfileEntity profile = profileService.getCurrentProfile();
 
-        List<ExpenseEntity> list;
+        String searchKeyword = keyword != null ? keyword.trim() : "";
+        List<ExpenseRow> list;
 
-        // Use enhanced search if keyword is provided, otherwise get all in date range
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            list = expenseRepository.searchExpensesByKeyword(
-                    profile.getId(),
-                    startDate,
-                    endDate,
-                    keyword.trim(),
-                    sort);
+        if (searchKeyword.isEmpty()) {
+            // No keyword: plain date-range read
+            list = expenseRepository.findRowsByProfileIdAndDateBetween(profile.getId(), startDate, endDate, sort);
         } else {
-            // If no keyword, get all expenses in date range with sorting
-            list = expenseRepository.searchExpensesByKeyword(
-                    profile.getId(),
-                    startDate,
-                    endDate,
-                    "",
-                    sort);
+            String phrase = fullTextSearchEnabled ? FullTextKeyword.toBooleanPhrase(searchKeyword) : null;
+            if (phrase != null) {
+                // Matching ids from the full-text indexes, then the rows in the requested order
+                List<Long> ids = expenseRepository.searchIdsByFullText(profile.getId(), startDate, endDate, phrase);
+                list = findRowsByIds(profile.getId(), ids, sort);
+            } else {
+                list = expenseRepository.searchExpensesByKeyword(
+                        profile.getId(),
+                        startDate,
+                        endDate,
+                        searchKeyword,
+                        sort);
+            }
         }
 
         return list.stream().map(this::toDTO).toList();
     }
 
-    // Notifications
-    public List<ExpenseDTO> getExpensesForUserOnDate(Long profileId, LocalDate date) {
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDate(profileId, date);
-        return list.stream().map(this::toDTO).toList();
+    // Expenses of the current user with the given ids (resolved by the keyword index), in the requested order
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> getExpensesByIds(List<Long> ids, Sort sort) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        ProfileEntity profile = profileService.getCurrentProfile();
+        return findRowsByIds(profile.getId(), ids, sort).stream().map(this::toDTO).toList();
+    }
+
+    // Rows of a keyword search, however many ids match: one IN query per ID_CHUNK_SIZE ids. With more than
+    // one chunk the rows are merged in memory in the same order (see rowOrder)
+    private List<ExpenseRow> findRowsByIds(Long profileId, List<Long> ids, Sort sort) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() <= ID_CHUNK_SIZE) {
+            return expenseRepository.findRowsByIdIn(profileId, ids, sort);
+        }
+        List<ExpenseRow> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            rows.addAll(expenseRepository.findRowsByIdIn(profileId, chunk, Sort.unsorted()));
+        }
+        rows.sort(rowOrder(sort));
+        return rows;
+    }
+
+    // In-memory equivalent of the filter sorts (date, amount, name); nulls first ascending, last descending,
+    // as in MySQL
+    private static Comparator<ExpenseRow> rowOrder(Sort sort) {
+        Comparator<ExpenseRow> order = Comparator.comparing(ExpenseRow::id);
+        for (Sort.Order sortOrder : sort.toList().reversed()) {
+            Comparator<ExpenseRow> field = switch (sortOrder.getProperty()) {
+                case "amount" -> Comparator.comparing(ExpenseRow::amount,
+                        Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()));
+                case "name" -> Comparator.comparing(ExpenseRow::name,
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                default -> Comparator.comparing(ExpenseRow::date,
+                        Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()));
+            };
+            order = (sortOrder.isAscending() ? field : field.reversed()).thenComparing(order);
+        }
+        return order;
+    }
+
+    // Keyset page of expenses (newest first); the cursor is the seek key of the previous page's last row
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> getExpensePage(LocalDate startDate, LocalDate endDate, String keyword,
+            String cursor, Integer size) {
+        ProfileEntity profile = profileService.getCurrentProfile();
+        int pageSize = cursorCodec.resolvePageSize(size);
+        String searchKeyword = keyword != null ? keyword.trim() : "";
+        // One extra row tells whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ExpenseRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = expenseRepository.findPageStart(profile.getId(), startDate, endDate, searchKeyword, limit);
+        } else {
+            CursorCodec.Position position = cursorCodec.decode(cursor);
+            rows = expenseRepository.findPageAfter(profile.getId(), startDate, endDate, searchKeyword,
+                    position.date(), position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ExpenseRow last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encode(last.date(), last.createdAt(), last.id());
+        }
+
+        return CursorPageDTO.<ExpenseDTO>builder()
+                .items(page.stream().map(this::toDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(pageSize)
+                .build();
     }
 
     // helper method to convert DTO to Entity
@@ -137,4 +320,24 @@ public class ExpenseService {
                 .build();
     }
 
+    // List reads map projection rows; the category always exists (inner join)
+    private ExpenseDTO toDTO(ExpenseRow row) {
+        return ExpenseDTO.builder()
+                .id(row.id())
+                .name(row.name())
+                .icon(row.icon())
+                .categoryId(row.categoryId())
+                .categoryName(row.categoryName())
+                .category(ExpenseDTO.CategoryInfo.builder()
+                        .id(row.categoryId())
+                        .name(row.categoryName())
+                        .icon(row.categoryIcon())
+                        .build())
+                .amount(row.amount())
+                .date(row.date())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
 }
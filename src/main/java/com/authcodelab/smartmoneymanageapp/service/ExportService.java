@@ -0,0 +1,165 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
+import com.authcodelab.smartmoneymanageapp.entity.IncomeEntity;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
+import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.IncomeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * CSV / JSON Lines exports of incomes and expenses.
+ * Rows go straight from the streaming repository query to a buffered writer on the response,
+ * one entity at a time, so memory stays constant regardless of the number of rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,date,name,category,amount\n";
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private record ExportRow(Long id, LocalDate date, String name, String category, BigDecimal amount) {
+    }
+
+    @Transactional(readOnly = true)
+    public long writeCsv(OutputStream os, String type, Long profileId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        long count = 0;
+        try (Stream<ExportRow> rows = streamRows(type, profileId, startDate, endDate)) {
+            Iterator<ExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ExportRow row = iterator.next();
+                writer.write(String.valueOf(row.id()));
+                writer.write(',');
+                writer.write(row.date() != null ? row.date().toString() : "");
+                writer.write(',');
+                writeCsvField(writer, row.name());
+                writer.write(',');
+                writeCsvField(writer, row.category());
+                writer.write(',');
+                writer.write(row.amount() != null ? row.amount().toPlainString() : "");
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} {} rows as CSV for profile {}", count, type, profileId);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long writeJsonLines(OutputStream os, String type, Long profileId, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        try (Stream<ExportRow> rows = streamRows(type, profileId, startDate, endDate);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            // One object per line: no separator between root values, the response stream stays open
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<ExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ExportRow row = iterator.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                generator.writeStringField("date", row.date() != null ? row.date().toString() : null);
+                generator.writeStringField("name", row.name());
+                generator.writeStringField("category", row.category());
+                if (row.amount() != null) {
+                    generator.writeNumberField("amount", row.amount());
+                } else {
+                    generator.writeNullField("amount");
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+            generator.flush();
+        }
+        writer.flush();
+        log.info("Exported {} {} rows as JSON Lines for profile {}", count, type, profileId);
+        return count;
+    }
+
+    public void validateType(String type) {
+        if (!TYPE_INCOME.equals(type) && !TYPE_EXPENSE.equals(type)) {
+            throw new BadRequestException("Invalid export type: '" + type + "'. Must be 'income' or 'expense'");
+        }
+    }
+
+    private Stream<ExportRow> streamRows(String type, Long profileId, LocalDate startDate, LocalDate endDate) {
+        validateType(type);
+        if (TYPE_INCOME.equals(type)) {
+            return incomeRepository.streamByProfileIdAndDateBetween(profileId, startDate, endDate)
+                    .map(this::toRow);
+        }
+        return expenseRepository.streamByProfileIdAndDateBetween(profileId, startDate, endDate)
+                .map(this::toRow);
+    }
+
+    // Each entity is detached once mapped so the persistence context does not grow with the export
+    private ExportRow toRow(IncomeEntity income) {
+        entityManager.detach(income);
+        return new ExportRow(income.getId(), income.getDate(), income.getName(),
+                categoryName(income.getCategory()), income.getAmount());
+    }
+
+    private ExportRow toRow(ExpenseEntity expense) {
+        entityManager.detach(expense);
+        return new ExportRow(expense.getId(), expense.getDate(), expense.getName(),
+                categoryName(expense.getCategory()), expense.getAmount());
+    }
+
+    private String categoryName(CategoryEntity category) {
+        return category != null ? category.getName() : "";
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
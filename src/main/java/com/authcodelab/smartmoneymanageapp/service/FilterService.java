@@ -1,8 +1,10 @@
 package com.authcodelab.smartmoneymanageapp.service;
 
+import com.authcodelab.smartmoneymanageapp.dto.CursorPageDTO;
 import com.authcodelab.smartmoneymanageapp.dto.ExpenseDTO;
 import com.authcodelab.smartmoneymanageapp.dto.FilterDTO;
 import com.authcodelab.smartmoneymanageapp.dto.IncomeDTO;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
@@ -18,19 +20,16 @@ public class FilterService {
 
     private final IncomeService incomeService;
     private final ExpenseService expenseService;
+    private final ProfileService profileService;
+    private final KeywordIndexService keywordIndexService;
 
     public List<?> filterTransactions(FilterDTO filterDTO) {
         // Validate transaction type
         validateTransactionType(filterDTO.getType());
 
         // Prepare filter parameters with defaults
-        LocalDate startDate = filterDTO.getStartDate() != null
-                ? filterDTO.getStartDate()
-                : LocalDate.of(1900, 1, 1);
-
-        LocalDate endDate = filterDTO.getEndDate() != null
-                ? filterDTO.getEndDate()
-                : LocalDate.of(2100, 12, 31);
+        LocalDate startDate = FilterDTO.startDateOrDefault(filterDTO.getStartDate());
+        LocalDate endDate = FilterDTO.endDateOrDefault(filterDTO.getEndDate());
 
         String keyword = filterDTO.getKeyword() != null
                 ? filterDTO.getKeyword().trim()
@@ -43,6 +42,19 @@ public class FilterService {
                 "Filtering transactions - Type: {}, StartDate: {}, EndDate: {}, Keyword: {}, SortField: {}, SortOrder: {}",
                 filterDTO.getType(), startDate, endDate, keyword, sortField, filterDTO.getSortOrder());
 
+        // Keyword searches resolve the matching ids from the in-memory keyword index, then fetch only those rows
+        if (!keyword.isEmpty() && keywordIndexService.isEnabled()) {
+            boolean income = "income".equalsIgnoreCase(filterDTO.getType());
+            List<Long> ids = keywordIndexService.findMatchingIds(profileService.getCurrentProfile().getId(),
+                    income ? KeywordIndexService.TYPE_INCOME : KeywordIndexService.TYPE_EXPENSE,
+                    keyword, startDate, endDate);
+            List<?> transactions = income
+                    ? incomeService.getIncomesByIds(ids, sort)
+                    : expenseService.getExpensesByIds(ids, sort);
+            log.info("Found {} {} transactions (keyword index)", transactions.size(), income ? "income" : "expense");
+            return transactions;
+        }
+
         // Route to appropriate service based on type
         if ("income".equalsIgnoreCase(filterDTO.getType())) {
             List<IncomeDTO> incomes = incomeService.filterIncomes(startDate, endDate, keyword, sort);
@@ -55,14 +67,45 @@ public class FilterService {
         }
     }
 
+    // Keyset-paginated variant of filterTransactions; pages are always ordered by date, newest first
+    public CursorPageDTO<?> filterTransactionsPage(FilterDTO filterDTO) {
+        validateTransactionType(filterDTO.getType());
+        validatePagedSort(filterDTO);
+
+        LocalDate startDate = FilterDTO.startDateOrDefault(filterDTO.getStartDate());
+        LocalDate endDate = FilterDTO.endDateOrDefault(filterDTO.getEndDate());
+
+        log.info("Filtering transaction page - Type: {}, StartDate: {}, EndDate: {}, Keyword: {}, Size: {}",
+                filterDTO.getType(), startDate, endDate, filterDTO.getKeyword(), filterDTO.getSize());
+
+        if ("income".equalsIgnoreCase(filterDTO.getType())) {
+            return incomeService.getIncomePage(startDate, endDate, filterDTO.getKeyword(),
+                    filterDTO.getCursor(), filterDTO.getSize());
+        }
+        return expenseService.getExpensePage(startDate, endDate, filterDTO.getKeyword(),
+                filterDTO.getCursor(), filterDTO.getSize());
+    }
+
+    // The seek key is (date, created_at, id), so other orderings cannot be paged by cursor
+    private void validatePagedSort(FilterDTO filterDTO) {
+        if (filterDTO.getSortField() != null && !"date".equalsIgnoreCase(filterDTO.getSortField().trim())) {
+            throw new BadRequestException(
+                    "Paged filtering only supports sorting by 'date'. Use /filters for other sort fields");
+        }
+        if ("asc".equalsIgnoreCase(filterDTO.getSortOrder())) {
+            throw new BadRequestException(
+                    "Paged filtering returns the newest transactions first. Use /filters for ascending order");
+        }
+    }
+
     private void validateTransactionType(String type) {
         if (type == null || type.trim().isEmpty()) {
-            throw new IllegalArgumentException("Transaction type is required");
+            throw new BadRequestException("Transaction type is required");
         }
 
         String normalizedType = type.trim().toLowerCase();
         if (!"income".equals(normalizedType) && !"expense".equals(normalizedType)) {
-            throw new IllegalArgumentException(
+            throw new BadRequestException(
                     "Invalid transaction type: '" + type + "'. Must be 'income' or 'expense'");
         }
     }
@@ -96,7 +139,7 @@ public class FilterService {
 
     public void validateDateRange(LocalDate startDate, LocalDate endDate) {
         if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
-            throw new IllegalArgumentException(
+            throw new BadRequestException(
                     "Start date cannot be after end date. Start: " + startDate + ", End: " + endDate);
         }
     }
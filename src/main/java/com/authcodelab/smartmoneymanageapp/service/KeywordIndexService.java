@@ -0,0 +1,216 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.dto.ExpenseRow;
+import com.authcodelab.smartmoneymanageapp.dto.IncomeRow;
+import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.IncomeRepository;
+import com.authcodelab.smartmoneymanageapp.search.TrigramIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warm per-profile keyword indexes (see TrigramIndex) for interactive filtering.
+ * An index is built on a profile's first keyword search from one projection query, then kept in
+ * step with income/expense inserts and deletes after they commit. Indexes are weighed by their
+ * estimated size and evicted once money.manager.search.keyword-index.max-bytes is exceeded
+ * (least recently/frequently used first).
+ * <p>
+ * Only writes made through this instance update the index; writes from other instances (or straight
+ * to the database) are not seen. Every index is therefore dropped expire-after-write-minutes after it
+ * was built, however often it is used or updated, which bounds that staleness. The index is off by default and
+ * meant for single-instance deployments, or where results up to that many minutes old are acceptable.
+ */
+@Service
+@Slf4j
+public class KeywordIndexService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    // Far longer than an index build; an entry replaced during a build also discards the build
+    private static final Duration WRITE_STAMP_IDLE = Duration.ofMinutes(30);
+
+    private record IndexKey(long profileId, String type) {
+    }
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final boolean enabled;
+    private final Cache<IndexKey, TrigramIndex> indexes;
+    // Bumped on every committed change of a profile, so an index build that raced a write of the same
+    // profile is not cached: the write could be missing from both the build and the update
+    private final Cache<Long, AtomicLong> writeStamps = Caffeine.newBuilder()
+            .expireAfterAccess(WRITE_STAMP_IDLE)
+            .build();
+
+    public KeywordIndexService(IncomeRepository incomeRepository,
+                               ExpenseRepository expenseRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${money.manager.search.keyword-index.enabled:false}") boolean enabled,
+                               @Value("${money.manager.search.keyword-index.max-bytes:67108864}") long maxBytes,
+                               @Value("${money.manager.search.keyword-index.expire-after-write-minutes:5}") long expireMinutes) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.enabled = enabled;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((IndexKey key, TrigramIndex index) -> (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .expireAfter(expireAfterBuild(Duration.ofMinutes(expireMinutes)))
+                .recordStats()
+                .build();
+        // exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=keywordIndex
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "keywordIndex");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Ids of the profile's incomes/expenses in [startDate, endDate] whose name or category name contains the keyword
+    public List<Long> findMatchingIds(Long profileId, String type, String keyword, LocalDate startDate, LocalDate endDate) {
+        IndexKey key = new IndexKey(profileId, type);
+        TrigramIndex index = indexes.getIfPresent(key);
+        if (index == null) {
+            index = build(key);
+        }
+        return Arrays.stream(index.search(keyword, startDate, endDate)).boxed().toList();
+    }
+
+    // Called from addIncome/addExpense; applied once the surrounding transaction commits
+    public void recordAdded(Long profileId, String type, Long id, String name, LocalDate date,
+                            Long categoryId, String categoryName) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            IndexKey key = new IndexKey(profileId, type);
+            recordWrite(profileId);
+            indexes.asMap().computeIfPresent(key, (k, index) -> {
+                index.add(id, name, date, categoryId, categoryName);
+                return index; // re-weighed
+            });
+        });
+    }
+
+    // Called from deleteIncome/deleteExpense; applied once the surrounding transaction commits
+    public void recordDeleted(Long profileId, String type, Long id) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            recordWrite(profileId);
+            indexes.asMap().computeIfPresent(new IndexKey(profileId, type), (k, index) -> {
+                index.remove(id);
+                return index;
+            });
+        });
+    }
+
+    // Category renames change what matches every transaction of the category, and bulk inserts add too
+    // many rows to apply one by one: rebuild on next search
+    public void invalidateProfile(Long profileId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            recordWrite(profileId);
+            indexes.invalidate(new IndexKey(profileId, TYPE_INCOME));
+            indexes.invalidate(new IndexKey(profileId, TYPE_EXPENSE));
+        });
+    }
+
+    // Built outside the cache (no database I/O under its lock) and read from the primary, since it
+    // runs outside a read-only transaction; cached only if no write of the profile raced the build
+    private TrigramIndex build(IndexKey key) {
+        AtomicLong writes = writeStamp(key.profileId());
+        long stamp = writes.get();
+        long start = System.nanoTime();
+        TrigramIndex index = TYPE_INCOME.equals(key.type())
+                ? buildIncomeIndex(key.profileId())
+                : buildExpenseIndex(key.profileId());
+        indexes.asMap().compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return writeStamps.getIfPresent(key.profileId()) == writes && writes.get() == stamp ? index : null;
+        });
+        log.debug("Built {} keyword index for profile {} in {} ms ({} bytes)", key.type(), key.profileId(),
+                (System.nanoTime() - start) / 1_000_000, index.estimatedBytes());
+        return index;
+    }
+
+    private TrigramIndex buildIncomeIndex(Long profileId) {
+        List<IncomeRow> rows = incomeRepository.findRowsByProfileId(profileId);
+        TrigramIndex index = new TrigramIndex(rows.size());
+        for (IncomeRow row : rows) {
+            index.add(row.id(), row.name(), row.date(), row.categoryId(), row.categoryName());
+        }
+        return index;
+    }
+
+    private TrigramIndex buildExpenseIndex(Long profileId) {
+        List<ExpenseRow> rows = expenseRepository.findRowsByProfileId(profileId);
+        TrigramIndex index = new TrigramIndex(rows.size());
+        for (ExpenseRow row : rows) {
+            index.add(row.id(), row.name(), row.date(), row.categoryId(), row.categoryName());
+        }
+        return index;
+    }
+
+    // Expires an index a fixed time after it was built. Not expireAfterWrite: the in-place updates from
+    // recordAdded/recordDeleted count as writes and would keep a busy profile's index alive indefinitely
+    private static Expiry<IndexKey, TrigramIndex> expireAfterBuild(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(IndexKey key, TrigramIndex index, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(IndexKey key, TrigramIndex index, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(IndexKey key, TrigramIndex index, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private void recordWrite(long profileId) {
+        writeStamp(profileId).incrementAndGet();
+    }
+
+    private AtomicLong writeStamp(long profileId) {
+        return writeStamps.get(profileId, id -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
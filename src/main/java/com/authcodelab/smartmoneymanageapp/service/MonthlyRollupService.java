@@ -0,0 +1,163 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.dto.MonthlyCategoryStatDTO;
+import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import com.authcodelab.smartmoneymanageapp.entity.MonthlyCategoryRollupEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.CategoryRepository;
+import com.authcodelab.smartmoneymanageapp.repository.MonthlyCategoryRollupRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileBalanceRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains tbl_monthly_category_rollups (sum and count per profile, month, category and type)
+ * and serves the monthly statistics read from it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    private final MonthlyCategoryRollupRepository rollupRepository;
+    private final ProfileBalanceRepository profileBalanceRepository;
+    private final ProfileRepository profileRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProfileService profileService;
+    private final TransactionTemplate transactionTemplate;
+
+    // apply a write to the bucket of the transaction (count = +1 for insert, -1 for delete)
+    @Transactional
+    public void record(Long profileId, String type, Long categoryId, LocalDate date, BigDecimal amount, long count) {
+        YearMonth month = YearMonth.from(date);
+        BigDecimal delta = amount != null ? amount : BigDecimal.ZERO;
+        int updated = rollupRepository.applyDelta(profileId, month.toString(), categoryId, type,
+                delta, count, LocalDateTime.now());
+        if (updated == 0) {
+            // no bucket yet: build it from the base tables, which already include this write
+            rebuildBucket(profileId, type, categoryId, month, delta, count);
+        }
+    }
+
+    // apply a bulk insert with one delta per (category, month) bucket instead of one per row
+    @Transactional
+    public void recordAll(Long profileId, String type, List<Entry> entries) {
+        Map<Bucket, List<Entry>> buckets = entries.stream().collect(Collectors.groupingBy(
+                entry -> new Bucket(entry.categoryId(), YearMonth.from(entry.date()))));
+        buckets.forEach((bucket, bucketEntries) -> {
+            BigDecimal sum = bucketEntries.stream()
+                    .map(Entry::amount)
+                    .filter(Objects::nonNull)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            record(profileId, type, bucket.categoryId(), bucket.month().atDay(1), sum, bucketEntries.size());
+        });
+    }
+
+    // one inserted row of a bulk insert (see recordAll)
+    public record Entry(Long categoryId, LocalDate date, BigDecimal amount) {
+    }
+
+    private record Bucket(Long categoryId, YearMonth month) {
+    }
+
+    // get monthly stats for current user, defaults to the last 12 months
+    @Transactional(readOnly = true)
+    public List<MonthlyCategoryStatDTO> getMonthlyStatsForCurrentUser(YearMonth from, YearMonth to, String type) {
+        ProfileEntity profile = profileService.getCurrentProfile();
+        YearMonth toMonth = to != null ? to : YearMonth.now();
+        YearMonth fromMonth = from != null ? from : toMonth.minusMonths(11);
+        String normalizedType = type != null && !type.isBlank() ? type.trim().toLowerCase() : null;
+
+        List<MonthlyCategoryRollupEntity> rollups = rollupRepository.findForProfile(
+                profile.getId(), fromMonth.toString(), toMonth.toString(), normalizedType);
+        Map<Long, CategoryEntity> categories = categoryRepository.findByProfileId(profile.getId()).stream()
+                .collect(Collectors.toMap(CategoryEntity::getId, Function.identity()));
+
+        return rollups.stream().map(rollup -> {
+            CategoryEntity category = categories.get(rollup.getCategoryId());
+            return MonthlyCategoryStatDTO.builder()
+                    .yearMonth(rollup.getYearMonth())
+                    .type(rollup.getType())
+                    .categoryId(rollup.getCategoryId())
+                    .categoryName(category != null ? category.getName() : "N/A")
+                    .categoryIcon(category != null ? category.getIcon() : null)
+                    .total(rollup.getTotalAmount())
+                    .count(rollup.getTxCount())
+                    .build();
+        }).toList();
+    }
+
+    @Scheduled(cron = "${money.manager.rollup.backfill-cron:0 0 4 * * SUN}", zone = "IST")
+    public void backfillAll() {
+        log.info("Job started: Backfilling monthly category rollups.");
+        List<Long> profileIds = profileRepository.findAllIds();
+        for (Long profileId : profileIds) {
+            transactionTemplate.executeWithoutResult(status -> backfillProfile(profileId));
+        }
+        log.info("Job completed: Backfilled monthly category rollups for {} profiles.", profileIds.size());
+    }
+
+    // Rebuild every bucket of a profile. Must run inside a transaction.
+    private void backfillProfile(Long profileId) {
+        // Writes for a profile always update its balance row first, so holding that row lock
+        // keeps concurrent adds/deletes out while the rollups are replaced
+        profileBalanceRepository.findForUpdate(profileId);
+        rollupRepository.deleteByProfileId(profileId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MonthlyCategoryRollupEntity> rollups = new ArrayList<>();
+        for (MonthlyCategoryRollupRepository.RollupBucket bucket : rollupRepository.groupIncomesByProfileId(profileId)) {
+            rollups.add(toEntity(profileId, TYPE_INCOME, bucket, now));
+        }
+        for (MonthlyCategoryRollupRepository.RollupBucket bucket : rollupRepository.groupExpensesByProfileId(profileId)) {
+            rollups.add(toEntity(profileId, TYPE_EXPENSE, bucket, now));
+        }
+        rollupRepository.saveAll(rollups);
+    }
+
+    private void rebuildBucket(Long profileId, String type, Long categoryId, YearMonth month,
+                               BigDecimal delta, long count) {
+        MonthlyCategoryRollupRepository.RollupTotals totals = TYPE_INCOME.equals(type)
+                ? rollupRepository.sumIncomeBucket(profileId, categoryId, month.atDay(1), month.atEndOfMonth())
+                : rollupRepository.sumExpenseBucket(profileId, categoryId, month.atDay(1), month.atEndOfMonth());
+
+        // Upsert, so two concurrent first writes of a month do not fail on the unique bucket key
+        rollupRepository.insertOrApplyDelta(profileId, month.toString(), categoryId, type,
+                totals.getTotal() != null ? totals.getTotal() : BigDecimal.ZERO,
+                totals.getCount() != null ? totals.getCount() : 0L,
+                delta, count, LocalDateTime.now());
+    }
+
+    private MonthlyCategoryRollupEntity toEntity(Long profileId, String type,
+                                                 MonthlyCategoryRollupRepository.RollupBucket bucket,
+                                                 LocalDateTime now) {
+        return MonthlyCategoryRollupEntity.builder()
+                .profileId(profileId)
+                .yearMonth(YearMonth.of(bucket.getYear(), bucket.getMonth()).toString())
+                .categoryId(bucket.getCategoryId())
+                .type(type)
+                .totalAmount(bucket.getTotal() != null ? bucket.getTotal() : BigDecimal.ZERO)
+                .txCount(bucket.getCount() != null ? bucket.getCount() : 0L)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileBalanceEntity;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileBalanceRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the per-profile balance ledger (tbl_profile_balances).
+ * Write paths apply deltas inside the caller's transaction; a nightly job
+ * rebuilds every row from the base tables to correct any drift.
+ */
+@Service
+@Slf4j
+public class ProfileBalanceService {
+
+    private final ProfileBalanceRepository profileBalanceRepository;
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    // A read-write transaction of its own, also when called from a read-only one (getBalance)
+    private final TransactionTemplate rebuildTransaction;
+
+    public ProfileBalanceService(ProfileBalanceRepository profileBalanceRepository,
+                                 ProfileRepository profileRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.profileBalanceRepository = profileBalanceRepository;
+        this.profileRepository = profileRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // create an empty ledger row for a newly registered profile
+    @Transactional
+    public void initialize(Long profileId) {
+        profileBalanceRepository.insertIfMissing(profileId, LocalDateTime.now());
+    }
+
+    // get the balance of a profile. Read-only, so with read replicas the dashboard reads it from a replica.
+    // A missing row (rare: V8 backfill, initialize on registration) is rebuilt in a separate read-write
+    // transaction on the primary.
+    @Transactional(readOnly = true)
+    public ProfileBalanceEntity getBalance(Long profileId) {
+        return profileBalanceRepository.findById(profileId)
+                .orElseGet(() -> rebuildTransaction.execute(status -> rebuild(profileId)));
+    }
+
+    // apply an income write (count = +1 for insert, -1 for delete). Every profile has a row (V8 backfill,
+    // initialize on registration), so the upsert only creates one if that was missed; the nightly
+    // reconciliation then corrects its totals.
+    @Transactional
+    public void recordIncome(Long profileId, BigDecimal amount, long count) {
+        profileBalanceRepository.applyIncomeDelta(profileId, nonNull(amount), count, LocalDateTime.now());
+    }
+
+    // apply an expense write (count = +1 for insert, -1 for delete)
+    @Transactional
+    public void recordExpense(Long profileId, BigDecimal amount, long count) {
+        profileBalanceRepository.applyExpenseDelta(profileId, nonNull(amount), count, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${money.manager.balance.reconcile-cron:0 30 3 * * *}", zone = "IST")
+    public void reconcileAll() {
+        log.info("Job started: Reconciling profile balances from income/expense tables.");
+        List<Long> profileIds = profileRepository.findAllIds();
+        for (Long profileId : profileIds) {
+            // one short transaction per profile so the balance row lock is held briefly
+            transactionTemplate.executeWithoutResult(status -> rebuild(profileId));
+        }
+        log.info("Job completed: Reconciled {} profile balances.", profileIds.size());
+    }
+
+    // Recompute a ledger row from tbl_incomes / tbl_expenses. Must run inside a transaction.
+    private ProfileBalanceEntity rebuild(Long profileId) {
+        // Lock an existing (or just created) row; never a gap lock on a missing key
+        profileBalanceRepository.insertIfMissing(profileId, LocalDateTime.now());
+        ProfileBalanceEntity balance = profileBalanceRepository.findForUpdate(profileId)
+                .orElseThrow(() -> new IllegalStateException("Balance row missing for profile " + profileId));
+
+        ProfileBalanceRepository.LedgerTotals incomes = profileBalanceRepository.sumIncomesByProfileId(profileId);
+        ProfileBalanceRepository.LedgerTotals expenses = profileBalanceRepository.sumExpensesByProfileId(profileId);
+
+        balance.setTotalIncome(nonNull(incomes.getTotal()));
+        balance.setIncomeCount(incomes.getCount() != null ? incomes.getCount() : 0L);
+        balance.setTotalExpense(nonNull(expenses.getTotal()));
+        balance.setExpenseCount(expenses.getCount() != null ? expenses.getCount() : 0L);
+        balance.setUpdatedAt(LocalDateTime.now());
+        return profileBalanceRepository.save(balance);
+    }
+
+    private BigDecimal nonNull(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,51 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository.ProfileSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks the active profiles in id order, one fixed-size page at a time, for scheduled jobs.
+ * Each page is a lightweight (id, email, fullName) projection fetched with a keyset query, so
+ * job memory is bounded by the batch size and no entities (password hashes, tokens) are loaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileBatchScanner {
+
+    private final ProfileRepository profileRepository;
+
+    @Value("${money.manager.jobs.profile-batch-size:500}")
+    private int batchSize;
+
+    // Calls the consumer once per page; returns the number of profiles visited
+    public long forEachBatch(Consumer<List<ProfileSummary>> consumer) {
+        long visited = 0;
+        long afterId = 0L;
+        while (true) {
+            List<ProfileSummary> batch = profileRepository.findActiveProfilesAfter(afterId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return visited;
+            }
+            consumer.accept(batch);
+            visited += batch.size();
+            if (batch.size() < batchSize) {
+                return visited;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    // Calls the consumer for every active profile; returns the number of profiles visited
+    public long forEachActiveProfile(Consumer<ProfileSummary> consumer) {
+        return forEachBatch(batch -> batch.forEach(consumer));
+    }
+}
@@ -7,6 +7,9 @@ import com.authcodelab.smartmoneymanageapp.exception.DuplicateEmailException;
 import com.authcodelab.smartmoneymanageapp.exception.InvalidActivationTokenException;
 import com.authcodelab.smartmoneymanageapp.exception.UserAccountNotActivatedException;
 import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.security.CurrentProfileHolder;
+import com.authcodelab.smartmoneymanageapp.security.TokenVersionRegistry;
+import com.authcodelab.smartmoneymanageapp.template.EmailTemplateEngine;
 import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +20,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Map;
 import java.util.UUID;
@@ -26,14 +31,21 @@ import java.util.UUID;
 public class ProfileService {
 
     private final ProfileRepository profileRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateEngine emailTemplateEngine;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtill jwtUtill;
+    private final ProfileBalanceService profileBalanceService;
+    private final CurrentProfileHolder currentProfileHolder;
+    private final AppUserDetailsService appUserDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Value("${app.activation.url}")
     private String activationURL;
 
+    // The activation email is queued in the outbox within this transaction; SMTP is not on the request path
+    @Transactional
     public ProfileDTO registerProfile(ProfileDTO profileDTO) {
         // Check if email already exists
         if (profileRepository.findByEmail(profileDTO.getEmail()).isPresent()) {
@@ -42,50 +54,18 @@ public class ProfileService {
 
         ProfileEntity newProfile = toEntity(profileDTO);
         newProfile.setActivationToken(UUID.randomUUID().toString());
-        newProfile = profileRepository.save(newProfile);
+        newProfile = saveProfile(newProfile);
+        profileBalanceService.initialize(newProfile.getId());
 
-        // --- HTML EMAIL DESIGN START ---
         String activationLink = activationURL + "/api/v1.0/activate?token=" + newProfile.getActivationToken();
         String subject = "Welcome to Smart Money! 🚀 Activate your account";
+        // HTML design lives in templates/email/activation.html
+        String body = emailTemplateEngine.render("activation", Map.of(
+                "fullName", newProfile.getFullName() != null ? newProfile.getFullName() : "",
+                "activationLink", activationLink));
 
-        String body = """
-        <html>
-          <body style="font-family: Arial, sans-serif; background-color: #f4f4f4; margin: 0; padding: 0;">
-            <div style="max-width: 600px; margin: 20px auto; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 4px 8px rgba(0,0,0,0.1);">
-              
-              <h2 style="color: #333333; text-align: center;">Welcome to Smart Money!</h2>
-              
-              <p style="color: #555555; font-size: 16px;">Dear <strong>%s</strong>,</p>
-              
-              <p style="color: #555555; font-size: 16px;">
-                Thank you for registering. We are excited to help you take control of your finances! 
-                Please click the button below to verify your email address and activate your account.
-              </p>
-              
-              <div style="text-align: center; margin: 30px 0;">
-                <a href="%s" style="background-color: #4CAF50; color: white; padding: 12px 24px; text-decoration: none; font-size: 16px; border-radius: 5px; display: inline-block; font-weight: bold;">
-                  Verify My Account
-                </a>
-              </div>
-              
-              <p style="color: #999999; font-size: 14px; text-align: center;">
-                If the button above doesn't work, copy and paste this link into your browser:<br>
-                <a href="%s" style="color: #4CAF50;">%s</a>
-              </p>
-              
-              <hr style="border: none; border-top: 1px solid #eeeeee; margin: 20px 0;">
-              
-              <p style="color: #aaaaaa; font-size: 12px; text-align: center;">
-                Best regards,<br>
-                <strong>Smart Money Manage App Team</strong>
-              </p>
-            </div>
-          </body>
-        </html>
-        """.formatted(newProfile.getFullName(), activationLink, activationLink, activationLink);
-
-        // Send the email (Make sure your service supports HTML!)
-        emailService.sendEmail(newProfile.getEmail(), subject, body);
+        // Queue the email (delivered as HTML by the outbox worker once the profile is committed)
+        emailOutboxService.enqueue(newProfile.getEmail(), subject, body);
 
         return toDTO(newProfile);
     }
@@ -121,12 +101,20 @@ public class ProfileService {
                     }
                     profile.setIsActive(true);
                     profile.setActivationToken(null); // Clear the token after activation
-                    profileRepository.save(profile);
+                    saveProfile(profile);
                     return true;
                 })
                 .orElseThrow(() -> new InvalidActivationTokenException("Invalid activation token"));
     }
 
+    // Every profile write goes through here so the cached user details never go stale
+    // (activation today; password change and profile update must use it as well)
+    private ProfileEntity saveProfile(ProfileEntity profile) {
+        ProfileEntity saved = profileRepository.save(profile);
+        appUserDetailsService.evictUser(saved.getEmail());
+        return saved;
+    }
+
     public boolean isAccountActive(String email) {
         return profileRepository.findByEmail(email)
                 .map(ProfileEntity::getIsActive)
@@ -136,14 +124,38 @@ public class ProfileService {
     public ProfileEntity getCurrentProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        return profileRepository.findByEmail(email)
+        // Outside of a web request (e.g. scheduled jobs) there is no request-scoped holder
+        boolean inRequest = RequestContextHolder.getRequestAttributes() != null;
+        if (inRequest && currentProfileHolder.isResolvedFor(email)) {
+            if (currentProfileHolder.getProfile() == null) {
+                // Only the id is known, a lazy reference defers the SELECT until a field other
+                // than the id is read
+                currentProfileHolder.setProfileReference(
+                        profileRepository.getReferenceById(currentProfileHolder.getProfileId()));
+            }
+            return currentProfileHolder.getProfile();
+        }
+
+        ProfileEntity profile = profileRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Profile not found for email: " + email));
+        if (inRequest) {
+            currentProfileHolder.setProfile(profile);
+        }
+        return profile;
+    }
+
+    // Email of the authenticated user (the token subject), known without loading the profile
+    public String getCurrentEmail() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
     public ProfileDTO getPublicProfile(String email) {
         ProfileEntity currentUser;
         if (email == null) {
-            currentUser = getCurrentProfile();
+            // Loaded here rather than through the lazy reference, so this also works outside a transaction
+            Long profileId = getCurrentProfile().getId();
+            currentUser = profileRepository.findById(profileId)
+                    .orElseThrow(() -> new UsernameNotFoundException("Profile not found with id: " + profileId));
         } else {
             currentUser = profileRepository.findByEmail(email)
                     .orElseThrow(() -> new UsernameNotFoundException("Profile not found with email: " + email));
@@ -161,8 +173,11 @@ public class ProfileService {
     }
 
     public Map<String, Object> authenticateAndGenerateToken(AuthDTO authDTO) {
-        // Check if account exists and is active
-        if (!isAccountActive(authDTO.getEmail())) {
+        ProfileEntity profile = profileRepository.findByEmail(authDTO.getEmail())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + authDTO.getEmail()));
+
+        // Check if account is active
+        if (!Boolean.TRUE.equals(profile.getIsActive())) {
             throw new UserAccountNotActivatedException(
                     "Account is not activated. Please check your email and activate your account before logging in.");
         }
@@ -171,11 +186,25 @@ public class ProfileService {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authDTO.getEmail(), authDTO.getPassword()));
 
-        // Generate token and return response
-        String token = jwtUtill.generateToken(authDTO.getEmail());
+        // Generate token (profile id and token version let the stateless mode skip the DB) and return response
+        String token = jwtUtill.generateToken(Map.of(
+                JwtUtill.CLAIM_PROFILE_ID, profile.getId(),
+                JwtUtill.CLAIM_TOKEN_VERSION, profile.getTokenVersion() != null ? profile.getTokenVersion() : 0),
+                authDTO.getEmail());
         return Map.of(
                 "token", token,
                 "user", getPublicProfile(authDTO.getEmail()),
                 "tokenType", "Bearer");
     }
+
+    // Revoke every token issued to the current user so far
+    public void revokeTokensForCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        ProfileEntity profile = profileRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Profile not found for email: " + email));
+        int currentVersion = profile.getTokenVersion() != null ? profile.getTokenVersion() : 0;
+        profile.setTokenVersion(currentVersion + 1);
+        saveProfile(profile);
+        tokenVersionRegistry.update(profile.getId(), profile.getTokenVersion());
+    }
 }
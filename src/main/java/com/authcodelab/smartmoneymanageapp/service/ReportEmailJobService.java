@@ -0,0 +1,191 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import com.authcodelab.smartmoneymanageapp.dto.EmailJobDTO;
+import com.authcodelab.smartmoneymanageapp.dto.ReportEmailRequest;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
+import com.authcodelab.smartmoneymanageapp.template.EmailTemplateEngine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emailed income/expense reports as background jobs.
+ * A request is accepted immediately with a job id; a small bounded pool builds the workbook from the
+ * user's own data (streamed, see ExcelService), sends it, and records the outcome for status polling.
+ * When the pool and its queue are full, new jobs are rejected instead of piling up.
+ */
+@Service
+@Slf4j
+public class ReportEmailJobService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    private final ExcelService excelService;
+    private final EmailService emailService;
+    private final ProfileService profileService;
+    private final EmailTemplateEngine emailTemplateEngine;
+    private final ThreadPoolExecutor executor;
+    // Finished jobs are kept for status polling for a while, then dropped
+    private final Cache<String, Job> jobs;
+
+    private static final class Job {
+        private final String id;
+        private final Long profileId;
+        private final String type;
+        private final String recipient;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String status = "QUEUED";
+        private volatile ExcelService.SheetSummary summary;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private Job(Long profileId, String type, String recipient, LocalDate startDate, LocalDate endDate) {
+            this.id = UUID.randomUUID().toString();
+            this.profileId = profileId;
+            this.type = type;
+            this.recipient = recipient;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    public ReportEmailJobService(ExcelService excelService,
+                                 EmailService emailService,
+                                 ProfileService profileService,
+                                 EmailTemplateEngine emailTemplateEngine,
+                                 @Value("${money.manager.email.report.threads:2}") int threads,
+                                 @Value("${money.manager.email.report.queue-capacity:20}") int queueCapacity,
+                                 @Value("${money.manager.email.report.job-retention-minutes:60}") long retentionMinutes) {
+        this.excelService = excelService;
+        this.emailService = emailService;
+        this.profileService = profileService;
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("report-email-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    // Validates and queues a report for the current user; throws RejectedExecutionException when saturated
+    public EmailJobDTO submit(String type, ReportEmailRequest request) {
+        if (!TYPE_INCOME.equals(type) && !TYPE_EXPENSE.equals(type)) {
+            throw new BadRequestException("Invalid report type: '" + type + "'. Must be 'income' or 'expense'");
+        }
+        LocalDate now = LocalDate.now();
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : now.withDayOfMonth(1);
+        LocalDate endDate = request.getEndDate() != null ? request.getEndDate() : now.withDayOfMonth(now.lengthOfMonth());
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException(
+                    "Start date cannot be after end date. Start: " + startDate + ", End: " + endDate);
+        }
+
+        // Resolved on the request thread; the worker has no security context
+        ProfileEntity profile = profileService.getCurrentProfile();
+        String recipient = request.getRecipient() != null && !request.getRecipient().isBlank()
+                ? request.getRecipient().trim()
+                : profileService.getCurrentEmail();
+
+        Job job = new Job(profile.getId(), type, recipient, startDate, endDate);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            throw e;
+        }
+        log.info("Queued {} report job {} for profile {}", type, job.id, job.profileId);
+        return toDTO(job);
+    }
+
+    // Status of a job owned by the current user, or null if unknown/expired/not theirs
+    public EmailJobDTO getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null || !job.profileId.equals(profileService.getCurrentProfile().getId())) {
+            return null;
+        }
+        return toDTO(job);
+    }
+
+    private void run(Job job) {
+        job.status = "RUNNING";
+        File workbook = null;
+        try {
+            workbook = Files.createTempFile("report-" + job.type + "-", ".xlsx").toFile();
+            try (OutputStream os = Files.newOutputStream(workbook.toPath())) {
+                job.summary = TYPE_INCOME.equals(job.type)
+                        ? excelService.writeIncomesToExcel(os, job.profileId, job.startDate, job.endDate)
+                        : excelService.writeExpensesToExcel(os, job.profileId, job.startDate, job.endDate);
+            }
+
+            String label = TYPE_INCOME.equals(job.type) ? "Income" : "Expense";
+            String body = emailTemplateEngine.render("report", Map.of(
+                    "title", label + " Report",
+                    "type", job.type,
+                    "label", label,
+                    "startDate", job.startDate.toString(),
+                    "endDate", job.endDate.toString(),
+                    "total", job.summary.total().toPlainString(),
+                    "count", job.summary.rows()));
+            emailService.sendEmailWithAttachment(job.recipient, label + " Report", body,
+                    job.type + "-report.xlsx", workbook);
+            job.status = "SUCCEEDED";
+            log.info("Report job {} sent {} rows to {}", job.id, job.summary.rows(), job.recipient);
+        } catch (IOException | RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = "FAILED";
+            log.error("Report job {} failed", job.id, e);
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            if (workbook != null && !workbook.delete()) {
+                workbook.deleteOnExit();
+            }
+        }
+    }
+
+    private EmailJobDTO toDTO(Job job) {
+        ExcelService.SheetSummary summary = job.summary;
+        return EmailJobDTO.builder()
+                .jobId(job.id)
+                .type(job.type)
+                .status(job.status)
+                .recipient(job.recipient)
+                .startDate(job.startDate)
+                .endDate(job.endDate)
+                .recordCount(summary != null ? summary.rows() : null)
+                .total(summary != null ? summary.total() : null)
+                .error(job.error)
+                .submittedAt(job.submittedAt)
+                .completedAt(job.completedAt)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,200 @@
+package com.authcodelab.smartmoneymanageapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of connected, authenticated SMTP transports (opt-in via money.manager.email.pool.enabled).
+ * JavaMailSender.send opens a connection, does STARTTLS and AUTH for every message; here a
+ * connection is reused for up to messages-per-connection messages and recycled on any error,
+ * when it has been idle too long, or when the limit is reached.
+ * The pool itself takes no lock (a queue plus a counter), but Jakarta Mail's SMTPTransport.connect and
+ * sendMessage are synchronized and hold the transport's monitor across socket I/O, so callers must be
+ * platform threads (see EmailDispatcher) to avoid pinning virtual-thread carriers.
+ * A failed send is not retried: the server may already have accepted the DATA, and a second attempt could
+ * deliver the message twice. A dropped idle connection is caught before use by isUsable (NOOP).
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final boolean enabled;
+    private final int maxConnections;
+    private final int messagesPerConnection;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+
+    private final BlockingQueue<PooledTransport> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter createdCounter;
+    private final Counter recycledCounter;
+    private final Timer borrowTimer;
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedAt = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${money.manager.email.pool.enabled:false}") boolean enabled,
+                             @Value("${money.manager.email.pool.max-connections:8}") int maxConnections,
+                             @Value("${money.manager.email.pool.messages-per-connection:100}") int messagesPerConnection,
+                             @Value("${money.manager.email.pool.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+                             @Value("${money.manager.email.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs) {
+        if (enabled && !(mailSender instanceof JavaMailSenderImpl)) {
+            throw new IllegalStateException("SMTP pooling requires a JavaMailSenderImpl");
+        }
+        this.mailSender = enabled ? (JavaMailSenderImpl) mailSender : null;
+        this.enabled = enabled;
+        this.maxConnections = maxConnections;
+        this.messagesPerConnection = messagesPerConnection;
+        this.idleTimeoutMs = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+
+        meterRegistry.gauge("money.manager.email.pool.connections.open", open);
+        meterRegistry.gauge("money.manager.email.pool.connections.idle", idle, BlockingQueue::size);
+        this.createdCounter = meterRegistry.counter("money.manager.email.pool.connections.created");
+        this.recycledCounter = meterRegistry.counter("money.manager.email.pool.connections.recycled");
+        this.borrowTimer = Timer.builder("money.manager.email.pool.borrow")
+                .description("Time spent waiting for an SMTP connection")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        // Same preparation JavaMailSenderImpl does before handing a message to a transport
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+
+        PooledTransport pooled = borrow();
+        try {
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException | RuntimeException e) {
+            // Recycle the connection; the caller decides whether to retry (the outbox does, with backoff)
+            discard(pooled);
+            throw e;
+        }
+        pooled.messagesSent++;
+        release(pooled);
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + borrowTimeoutMs;
+        try {
+            while (true) {
+                PooledTransport pooled = idle.poll();
+                if (pooled == null && reserveSlot()) {
+                    return connect();
+                }
+                if (pooled == null) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new MessagingException("Timed out waiting for an SMTP connection");
+                    }
+                    // Short waits: a slot can also free up by a connection being discarded
+                    pooled = idle.poll(Math.min(remaining, 100), TimeUnit.MILLISECONDS);
+                    if (pooled == null) {
+                        continue;
+                    }
+                }
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                discard(pooled);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        } finally {
+            borrowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = open.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+            if (open.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Called with a reserved slot; gives it back if the connection cannot be established
+    private PooledTransport connect() throws MessagingException {
+        try {
+            Session session = mailSender.getSession();
+            Transport transport = session.getTransport(mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            createdCounter.increment();
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            open.decrementAndGet();
+            throw e;
+        }
+    }
+
+    // isConnected() sends a NOOP, so a connection the server closed while idle is discarded here
+    private boolean isUsable(PooledTransport pooled) {
+        return System.currentTimeMillis() - pooled.lastUsedAt < idleTimeoutMs && pooled.transport.isConnected();
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled.messagesSent >= messagesPerConnection) {
+            discard(pooled);
+            return;
+        }
+        pooled.lastUsedAt = System.currentTimeMillis();
+        idle.offer(pooled);
+    }
+
+    private void discard(PooledTransport pooled) {
+        open.decrementAndGet();
+        recycledCounter.increment();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void closeAll() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            discard(pooled);
+        }
+    }
+}
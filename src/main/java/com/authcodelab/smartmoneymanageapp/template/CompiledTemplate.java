@@ -0,0 +1,148 @@
+package com.authcodelab.smartmoneymanageapp.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into a flat list of fragments: literal markup (kept verbatim, it is
+ * already HTML), variables and repeated sections.
+ * Syntax: {@code {{name}}} (HTML-escaped), {@code {{&name}}} (raw) and
+ * {@code {{#items}}...{{/items}}} (repeated for each map in the list bound to {@code items}).
+ */
+final class CompiledTemplate {
+
+    sealed interface Fragment permits Literal, Variable, Section {
+    }
+
+    record Literal(String text) implements Fragment {
+    }
+
+    record Variable(String name, boolean escape) implements Fragment {
+    }
+
+    record Section(String name, List<Fragment> body) implements Fragment {
+    }
+
+    private final String name;
+    private final List<Fragment> fragments;
+    // Largest rendered size seen so far, used to presize buffers
+    private volatile int sizeHint;
+
+    private CompiledTemplate(String name, List<Fragment> fragments, int sizeHint) {
+        this.name = name;
+        this.fragments = fragments;
+        this.sizeHint = sizeHint;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int sizeHint() {
+        return sizeHint;
+    }
+
+    void recordSize(int size) {
+        if (size > sizeHint) {
+            sizeHint = size;
+        }
+    }
+
+    void render(StringBuilder out, Map<String, ?> model) {
+        render(out, fragments, model);
+    }
+
+    private void render(StringBuilder out, List<Fragment> body, Map<String, ?> model) {
+        for (Fragment fragment : body) {
+            if (fragment instanceof Literal literal) {
+                out.append(literal.text());
+            } else if (fragment instanceof Variable variable) {
+                Object value = model.get(variable.name());
+                if (value == null) {
+                    continue;
+                }
+                if (variable.escape()) {
+                    appendEscaped(out, value.toString());
+                } else {
+                    out.append(value);
+                }
+            } else if (fragment instanceof Section section) {
+                Object items = model.get(section.name());
+                if (items instanceof Iterable<?> iterable) {
+                    for (Object item : iterable) {
+                        @SuppressWarnings("unchecked")
+                        Map<String, ?> itemModel = (Map<String, ?>) item;
+                        render(out, section.body(), itemModel);
+                    }
+                }
+            }
+        }
+    }
+
+    // Single pass: copies runs of safe characters and substitutes the five HTML specials
+    static void appendEscaped(StringBuilder out, String value) {
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, runStart, i).append(replacement);
+                runStart = i + 1;
+            }
+        }
+        out.append(value, runStart, value.length());
+    }
+
+    static CompiledTemplate compile(String name, String source) {
+        List<List<Fragment>> stack = new ArrayList<>();
+        List<String> openSections = new ArrayList<>();
+        List<Fragment> current = new ArrayList<>();
+        int pos = 0;
+        while (pos < source.length()) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                current.add(new Literal(source.substring(pos)));
+                break;
+            }
+            if (open > pos) {
+                current.add(new Literal(source.substring(pos, open)));
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed tag in email template '" + name + "' at offset " + open);
+            }
+            String tag = source.substring(open + 2, close).trim();
+            if (tag.startsWith("#")) {
+                openSections.add(tag.substring(1).trim());
+                stack.add(current);
+                current = new ArrayList<>();
+            } else if (tag.startsWith("/")) {
+                String sectionName = tag.substring(1).trim();
+                if (openSections.isEmpty() || !openSections.get(openSections.size() - 1).equals(sectionName)) {
+                    throw new IllegalStateException("Unexpected {{/" + sectionName + "}} in email template '" + name + "'");
+                }
+                openSections.remove(openSections.size() - 1);
+                Section section = new Section(sectionName, List.copyOf(current));
+                current = stack.remove(stack.size() - 1);
+                current.add(section);
+            } else if (tag.startsWith("&")) {
+                current.add(new Variable(tag.substring(1).trim(), false));
+            } else {
+                current.add(new Variable(tag, true));
+            }
+            pos = close + 2;
+        }
+        if (!openSections.isEmpty()) {
+            throw new IllegalStateException("Unclosed section {{#" + openSections.get(openSections.size() - 1)
+                    + "}} in email template '" + name + "'");
+        }
+        return new CompiledTemplate(name, List.copyOf(current), source.length());
+    }
+}
@@ -0,0 +1,76 @@
+package com.authcodelab.smartmoneymanageapp.template;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Renders the HTML emails in classpath:templates/email/*.html.
+ * Every template is parsed once at startup (a broken template fails the start, not a send);
+ * rendering appends fragments into a pooled StringBuilder and escapes values in a single pass.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath:templates/email/*.html";
+    private static final int POOL_SIZE = 32;
+    // Buffers that grew beyond this are dropped instead of being kept in the pool
+    private static final int MAX_POOLED_CAPACITY = 256 * 1024;
+
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+    private final BlockingQueue<StringBuilder> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    @PostConstruct
+    void loadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        for (Resource resource : resources) {
+            String fileName = resource.getFilename();
+            String name = fileName.substring(0, fileName.length() - ".html".length());
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            templates.put(name, CompiledTemplate.compile(name, source));
+        }
+        log.info("Loaded {} email templates: {}", templates.size(), templates.keySet());
+    }
+
+    public String render(String templateName, Map<String, ?> model) {
+        CompiledTemplate template = templates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + templateName);
+        }
+        StringBuilder buffer = acquire(template.sizeHint());
+        try {
+            template.render(buffer, model);
+            template.recordSize(buffer.length());
+            return buffer.toString();
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private StringBuilder acquire(int sizeHint) {
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            return new StringBuilder(sizeHint);
+        }
+        buffer.ensureCapacity(sizeHint);
+        return buffer;
+    }
+
+    private void release(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        buffer.setLength(0);
+        buffers.offer(buffer);
+    }
+}
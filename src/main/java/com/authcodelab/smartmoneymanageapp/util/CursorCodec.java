@@ -0,0 +1,57 @@
+package com.authcodelab.smartmoneymanageapp.util;
+
+import com.authcodelab.smartmoneymanageapp.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset pagination over incomes and expenses.
+ * A cursor is the (date, created_at, id) seek key of the last row of a page, base64url encoded,
+ * so the next page is a plain index range scan no matter how deep the client pages.
+ */
+@Component
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    @Value("${money.manager.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${money.manager.pagination.max-size:200}")
+    private int maxPageSize;
+
+    public record Position(LocalDate date, LocalDateTime createdAt, Long id) {
+    }
+
+    public String encode(LocalDate date, LocalDateTime createdAt, Long id) {
+        String raw = date + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new Position(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    // Requested page size clamped to [1, max]; missing means the configured default
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
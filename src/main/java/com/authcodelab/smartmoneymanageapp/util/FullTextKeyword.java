@@ -0,0 +1,36 @@
+package com.authcodelab.smartmoneymanageapp.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Turns a filter keyword into a MySQL boolean-mode phrase for the n-gram full-text indexes
+ * (see V6__keyword_fulltext_indexes.sql). A quoted phrase over n-grams matches the keyword as a
+ * substring, the same rows as LIKE '%keyword%'.
+ */
+public final class FullTextKeyword {
+
+    // ngram_token_size (server default); shorter words produce no n-grams
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final Pattern SEARCHABLE = Pattern.compile("[\\p{L}\\p{N}]+(\\s+[\\p{L}\\p{N}]+)*");
+
+    private FullTextKeyword() {
+    }
+
+    // The phrase to pass to MATCH ... AGAINST (... IN BOOLEAN MODE), or null when the keyword
+    // cannot be served by the index (too short, or contains punctuation/operators) and LIKE must be used
+    public static String toBooleanPhrase(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String trimmed = keyword.trim();
+        if (!SEARCHABLE.matcher(trimmed).matches()) {
+            return null;
+        }
+        for (String word : trimmed.split("\\s+")) {
+            if (word.length() < MIN_WORD_LENGTH) {
+                return null;
+            }
+        }
+        return "\"" + trimmed + "\"";
+    }
+}
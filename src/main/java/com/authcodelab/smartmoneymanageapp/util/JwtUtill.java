@@ -2,6 +2,7 @@ package com.authcodelab.smartmoneymanageapp.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -9,6 +10,7 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,12 +28,28 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtill {
 
+    // Claims used by the stateless authentication mode
+    public static final String CLAIM_PROFILE_ID = "pid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret:YXV0aG5tb25leW1hbmFnZWFwcGF1dGhubW9uZXltYW5hZ2VhcHBzZWNyZXRrZXk=}")
     private String SECRET_KEY;
 
     @Value("${jwt.expiration:36000000}") // Default: 10 hours in milliseconds
     private Long jwtExpirationMs;
 
+    // Derived once at startup; both are immutable and safe to share between request threads
+    private Key signKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signKey = buildSignKey();
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+    }
+
     public String generateToken(String email) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, email);
@@ -48,7 +66,7 @@ public class JwtUtill {
                 .setSubject(subject)
                 .setIssuedAt(new Date(currentTimeMillis))
                 .setExpiration(new Date(currentTimeMillis + jwtExpirationMs))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -79,11 +97,15 @@ public class JwtUtill {
     }
 
 
+    // Parse and verify the token once; the returned claims can be used for all later checks
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -116,8 +138,8 @@ public class JwtUtill {
 
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            final Claims claims = extractAllClaims(token);
+            return (claims.getSubject().equals(username) && !isTokenExpired(claims));
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
             return false;
@@ -126,22 +148,32 @@ public class JwtUtill {
 
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+
+    // Same check against claims that were already parsed (and signature-verified) for this request
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
 
     public Boolean isTokenValid(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !isTokenExpired(extractAllClaims(token));
         } catch (Exception e) {
             return false;
         }
     }
 
 
-    private Key getSignKey() {
+    private Key buildSignKey() {
         try {
             byte[] keyBytes;
             // Support either explicit base64 (prefix "base64:") or raw base64 or plain-text secret.
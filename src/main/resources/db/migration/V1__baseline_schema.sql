@@ -0,0 +1,82 @@
+-- Baseline schema, matching the tables previously generated by ddl-auto=update.
+-- IF NOT EXISTS lets this run against databases that already have them
+-- (spring.flyway.baseline-on-migrate with baseline-version 0).
+
+CREATE TABLE IF NOT EXISTS tbl_profiles (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    full_name           VARCHAR(255),
+    email               VARCHAR(255),
+    password            VARCHAR(255),
+    profile_picture_url VARCHAR(255),
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    is_active           BIT,
+    activation_token    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_profiles_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_categories (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    type       VARCHAR(255),
+    icon       VARCHAR(255),
+    profile_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_categories_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_incomes (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    icon        VARCHAR(255),
+    date        DATE,
+    amount      DECIMAL(38, 2),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    category_id BIGINT NOT NULL,
+    profile_id  BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_incomes_category FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT fk_incomes_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_expenses (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    icon        VARCHAR(255),
+    date        DATE,
+    amount      DECIMAL(38, 2),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    category_id BIGINT NOT NULL,
+    profile_id  BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_expenses_category FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT fk_expenses_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_profile_balances (
+    profile_id    BIGINT         NOT NULL,
+    total_income  DECIMAL(38, 2) NOT NULL,
+    total_expense DECIMAL(38, 2) NOT NULL,
+    income_count  BIGINT         NOT NULL,
+    expense_count BIGINT         NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (profile_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tbl_monthly_category_rollups (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    profile_id   BIGINT         NOT NULL,
+    month_key    VARCHAR(7)     NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    type         VARCHAR(10)    NOT NULL,
+    total_amount DECIMAL(38, 2) NOT NULL,
+    tx_count     BIGINT         NOT NULL,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_profile_month_category_type UNIQUE (profile_id, month_key, category_id, type)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- Composite indexes for the profile-scoped query shapes used on every endpoint:
+--   (profile_id, date, created_at)  -> date-range scans and "latest N" ordered by date
+--   (profile_id, category_id, date) -> per-category lookups within a date range
+
+CREATE INDEX idx_incomes_profile_date_created ON tbl_incomes (profile_id, date, created_at);
+CREATE INDEX idx_incomes_profile_category_date ON tbl_incomes (profile_id, category_id, date);
+
+CREATE INDEX idx_expenses_profile_date_created ON tbl_expenses (profile_id, date, created_at);
+CREATE INDEX idx_expenses_profile_category_date ON tbl_expenses (profile_id, category_id, date);
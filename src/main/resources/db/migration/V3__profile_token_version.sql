@@ -0,0 +1,4 @@
+-- Token version per profile: JWTs carry the version they were issued with,
+-- and bumping it revokes every token issued before.
+
+ALTER TABLE tbl_profiles ADD COLUMN token_version INT NOT NULL DEFAULT 0;
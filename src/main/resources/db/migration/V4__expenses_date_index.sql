@@ -0,0 +1,4 @@
+-- The daily expense summary reads one day of expenses across all profiles:
+--   (date, profile_id) -> single range scan, already in the profile order the job groups by
+
+CREATE INDEX idx_expenses_date_profile ON tbl_expenses (date, profile_id);
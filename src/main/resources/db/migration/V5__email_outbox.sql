@@ -0,0 +1,20 @@
+-- Transactional email outbox: rows are written in the same transaction as the business change
+-- and delivered by EmailOutboxService. A row stays PENDING (leased by pushing next_attempt_at
+-- forward while it is being sent) until it is SENT or, after the last retry, DEAD.
+
+CREATE TABLE IF NOT EXISTS tbl_email_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            MEDIUMTEXT   NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    attempts        INT          NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    sent_at         DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_email_outbox_status_next ON tbl_email_outbox (status, next_attempt_at);
@@ -0,0 +1,11 @@
+-- Keyword filters (/filters) match a substring of the transaction name or its category name.
+-- LOWER(name) LIKE '%kw%' cannot use a B-tree index, so these n-gram full-text indexes serve it:
+-- a boolean-mode phrase search over n-grams matches substrings of at least ngram_token_size (2) chars.
+-- Stopwords are disabled for this session: two-letter n-grams such as 'an' or 'at' are on the
+-- default stopword list and would otherwise be left out of the index.
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+CREATE FULLTEXT INDEX ft_incomes_name ON tbl_incomes (name) WITH PARSER ngram;
+CREATE FULLTEXT INDEX ft_expenses_name ON tbl_expenses (name) WITH PARSER ngram;
+CREATE FULLTEXT INDEX ft_categories_name ON tbl_categories (name) WITH PARSER ngram;
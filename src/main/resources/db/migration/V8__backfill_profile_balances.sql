@@ -0,0 +1,14 @@
+-- Ledger rows for profiles that existed before tbl_profile_balances was introduced.
+-- Without them the first write of each such profile had to create the row at runtime, and two
+-- concurrent first writes could deadlock on the gap lock or collide on the primary key.
+-- Profiles registered from now on get their row in the registration transaction.
+
+INSERT INTO tbl_profile_balances (profile_id, total_income, total_expense, income_count, expense_count, updated_at)
+SELECT p.id,
+       COALESCE((SELECT SUM(i.amount) FROM tbl_incomes i WHERE i.profile_id = p.id), 0),
+       COALESCE((SELECT SUM(e.amount) FROM tbl_expenses e WHERE e.profile_id = p.id), 0),
+       (SELECT COUNT(*) FROM tbl_incomes i WHERE i.profile_id = p.id),
+       (SELECT COUNT(*) FROM tbl_expenses e WHERE e.profile_id = p.id),
+       NOW(6)
+FROM tbl_profiles p
+WHERE NOT EXISTS (SELECT 1 FROM tbl_profile_balances b WHERE b.profile_id = p.id);
@@ -0,0 +1,133 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileBalanceRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.service.ProfileBalanceService;
+import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replica routing within one request: read-only transactions get a replica connection, and a read-write
+ * one after them still gets a primary connection. The "replica" is a second pool on the same embedded
+ * database, so the routing is asserted through the money.manager.datasource.routed counters.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.URL,
+        "money.manager.datasource.replicas.enabled=true",
+        "money.manager.datasource.replicas.urls=" + ReplicaRoutingTest.URL,
+        "money.manager.datasource.replicas.lag-query=",
+        "spring.jpa.open-in-view=false",
+        // No background token-version refresh during the test; it would add to the routing counters
+        "jwt.stateless.version-refresh-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String URL = "jdbc:h2:mem:replicas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+            + "IGNORE_UNKNOWN_SETTINGS=TRUE";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtill jwtUtill;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProfileBalanceRepository profileBalanceRepository;
+
+    @Autowired
+    private ProfileBalanceService profileBalanceService;
+
+    private ProfileEntity profile;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        // Replicas only take reads once a check has passed
+        replicaRoutingDataSource.checkReplicas();
+        profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Replica Routing")
+                .email("replicas-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .isActive(true)
+                .build());
+        token = jwtUtill.generateToken(Map.of(
+                JwtUtill.CLAIM_PROFILE_ID, profile.getId(),
+                JwtUtill.CLAIM_TOKEN_VERSION, 0), profile.getEmail());
+    }
+
+    @Test
+    void dashboardReadsRecentTransactionsAndLedgerFromReplica() throws Exception {
+        profileBalanceService.initialize(profile.getId());
+        warmUp();
+
+        double replicaReads = routed("replica-1", "read");
+        double primaryWrites = routed(ReplicaRoutingDataSource.PRIMARY, "write");
+
+        // Recent transactions and the existing ledger row: two read-only transactions, no write
+        mockMvc.perform(get("/dashboard").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(routed("replica-1", "read") - replicaReads).isGreaterThanOrEqualTo(2);
+        assertThat(routed(ReplicaRoutingDataSource.PRIMARY, "write")).isEqualTo(primaryWrites);
+    }
+
+    @Test
+    void dashboardReadsFromReplicaThenWritesMissingLedgerOnPrimary() throws Exception {
+        warmUp();
+        assertThat(profileBalanceRepository.findById(profile.getId())).isEmpty();
+
+        double replicaReads = routed("replica-1", "read");
+        double primaryWrites = routed(ReplicaRoutingDataSource.PRIMARY, "write");
+
+        // Recent transactions and the ledger lookup (read-only), then the rebuild of the missing ledger row
+        // (read-write)
+        mockMvc.perform(get("/dashboard").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(routed("replica-1", "read")).isGreaterThan(replicaReads);
+        assertThat(routed(ReplicaRoutingDataSource.PRIMARY, "write")).isGreaterThan(primaryWrites);
+        assertThat(profileBalanceRepository.findById(profile.getId())).isPresent();
+    }
+
+    // A read-only request first: loads the user into the user details cache, so the measured request makes
+    // no authentication query
+    private void warmUp() throws Exception {
+        mockMvc.perform(get("/incomes").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private double routed(String target, String kind) {
+        Counter counter = meterRegistry.find("money.manager.datasource.routed")
+                .tags("target", target, "kind", kind)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.authcodelab.smartmoneymanageapp.config;
+
+import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ExpenseEntity;
+import com.authcodelab.smartmoneymanageapp.entity.IncomeEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.CategoryRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.IncomeRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * N+1 guard: the list and filter reads must issue the same number of SQL statements for N and 10N rows.
+ * Counts come from the per-request metric recorded by SqlStatementCountConfig.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementCountTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtill jwtUtill;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private ProfileEntity profile;
+    private CategoryEntity incomeCategory;
+    private CategoryEntity expenseCategory;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh profile per test, so row counts do not depend on the other tests
+        profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Statement Count")
+                .email("statements-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .isActive(true)
+                .build());
+        incomeCategory = categoryRepository.save(CategoryEntity.builder()
+                .name("Salary").type("income").icon("💵").profile(profile).build());
+        expenseCategory = categoryRepository.save(CategoryEntity.builder()
+                .name("Housing").type("expense").icon("🏠").profile(profile).build());
+        token = jwtUtill.generateToken(Map.of(
+                JwtUtill.CLAIM_PROFILE_ID, profile.getId(),
+                JwtUtill.CLAIM_TOKEN_VERSION, 0), profile.getEmail());
+    }
+
+    @Test
+    void incomeListDoesNotGrowWithRows() throws Exception {
+        assertConstantStatementCount(get("/incomes"), "GET", "/incomes");
+    }
+
+    @Test
+    void expenseListDoesNotGrowWithRows() throws Exception {
+        assertConstantStatementCount(get("/expenses"), "GET", "/expenses");
+    }
+
+    @Test
+    void incomeFilterDoesNotGrowWithRows() throws Exception {
+        assertConstantStatementCount(filter("{\"type\":\"income\"}"), "POST", "/filters");
+    }
+
+    @Test
+    void expenseKeywordFilterDoesNotGrowWithRows() throws Exception {
+        assertConstantStatementCount(filter("{\"type\":\"expense\",\"keyword\":\"rent\"}"), "POST", "/filters");
+    }
+
+    private void assertConstantStatementCount(MockHttpServletRequestBuilder request, String method, String uri)
+            throws Exception {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        seed(ROWS);
+        // Warm-up: the first request of a user loads it into the user details cache
+        statementsFor(request, method, uri);
+        int withRows = statementsFor(request, method, uri);
+
+        seed(ROWS * 9);
+        int withTenTimesTheRows = statementsFor(request, method, uri);
+
+        assertThat(withRows).isPositive();
+        assertThat(withTenTimesTheRows).isEqualTo(withRows);
+    }
+
+    private int statementsFor(MockHttpServletRequestBuilder request, String method, String uri) throws Exception {
+        double before = recordedStatements(method, uri);
+        mockMvc.perform(request).andExpect(status().isOk());
+        return (int) (recordedStatements(method, uri) - before);
+    }
+
+    private double recordedStatements(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find("money.manager.http.sql.statements")
+                .tags("method", method, "uri", uri)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private MockHttpServletRequestBuilder filter(String body) {
+        return post("/filters").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    // Incomes and expenses dated today, so they fall into the current-month lists
+    private void seed(int count) {
+        List<IncomeEntity> incomes = new ArrayList<>();
+        List<ExpenseEntity> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            incomes.add(IncomeEntity.builder()
+                    .name("Salary " + i)
+                    .amount(BigDecimal.TEN)
+                    .date(LocalDate.now())
+                    .category(incomeCategory)
+                    .profile(profile)
+                    .build());
+            expenses.add(ExpenseEntity.builder()
+                    .name("Rent " + i)
+                    .amount(BigDecimal.ONE)
+                    .date(LocalDate.now())
+                    .category(expenseCategory)
+                    .profile(profile)
+                    .build());
+        }
+        incomeRepository.saveAll(incomes);
+        expenseRepository.saveAll(expenses);
+    }
+}
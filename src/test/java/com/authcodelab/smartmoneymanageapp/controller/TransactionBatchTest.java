@@ -0,0 +1,216 @@
+package com.authcodelab.smartmoneymanageapp.controller;
+
+import com.authcodelab.smartmoneymanageapp.entity.CategoryEntity;
+import com.authcodelab.smartmoneymanageapp.entity.MonthlyCategoryRollupEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileBalanceEntity;
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.CategoryRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ExpenseRepository;
+import com.authcodelab.smartmoneymanageapp.repository.IncomeRepository;
+import com.authcodelab.smartmoneymanageapp.repository.MonthlyCategoryRollupRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileBalanceRepository;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /incomes/batch and /expenses/batch: rows are inserted as JDBC batches, the generated ids are
+ * returned, and the balance ledger and monthly rollups receive the aggregated deltas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtill jwtUtill;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ProfileBalanceRepository profileBalanceRepository;
+
+    @Autowired
+    private MonthlyCategoryRollupRepository monthlyCategoryRollupRepository;
+
+    private ProfileEntity profile;
+    private CategoryEntity salary;
+    private CategoryEntity freelance;
+    private CategoryEntity housing;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        profile = createProfile();
+        salary = createCategory(profile, "Salary", "income");
+        freelance = createCategory(profile, "Freelance", "income");
+        housing = createCategory(profile, "Housing", "expense");
+        token = jwtUtill.generateToken(Map.of(
+                JwtUtill.CLAIM_PROFILE_ID, profile.getId(),
+                JwtUtill.CLAIM_TOKEN_VERSION, 0), profile.getEmail());
+    }
+
+    @Test
+    void incomeBatchReturnsGeneratedIdsAndUpdatesLedgerAndRollups() throws Exception {
+        String body = "["
+                + transaction("Salary Jan", "1000.00", "2026-01-05", salary) + ","
+                + transaction("Bonus Jan", "250.50", "2026-01-20", salary) + ","
+                + transaction("Gig Jan", "99.50", "2026-01-21", freelance) + ","
+                + transaction("Salary Feb", "1000.00", "2026-02-05", salary)
+                + "]";
+
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/incomes/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+
+        assertThat(created).hasSize(4);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode income : created) {
+            ids.add(income.get("id").asLong());
+        }
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(incomeRepository.findAllById(ids)).hasSize(4)
+                .allSatisfy(income -> assertThat(income.getProfile().getId()).isEqualTo(profile.getId()));
+        assertThat(created.get(0).get("name").asText()).isEqualTo("Salary Jan");
+        assertThat(created.get(0).get("categoryName").asText()).isEqualTo("Salary");
+
+        ProfileBalanceEntity balance = profileBalanceRepository.findById(profile.getId()).orElseThrow();
+        assertThat(balance.getTotalIncome()).isEqualByComparingTo("2350.00");
+        assertThat(balance.getIncomeCount()).isEqualTo(4L);
+
+        List<MonthlyCategoryRollupEntity> rollups = monthlyCategoryRollupRepository
+                .findForProfile(profile.getId(), "2026-01", "2026-02", "income");
+        assertThat(rollups).hasSize(3);
+        assertRollup(rollups, "2026-01", salary, "1250.50", 2);
+        assertRollup(rollups, "2026-01", freelance, "99.50", 1);
+        assertRollup(rollups, "2026-02", salary, "1000.00", 1);
+    }
+
+    @Test
+    void expenseBatchReturnsGeneratedIdsAndUpdatesLedgerAndRollups() throws Exception {
+        String body = "["
+                + transaction("Rent", "1200.00", "2026-03-01", housing) + ","
+                + transaction("Repairs", "80.00", "2026-03-12", housing)
+                + "]";
+
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/expenses/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+
+        assertThat(created).hasSize(2);
+        List<Long> ids = List.of(created.get(0).get("id").asLong(), created.get(1).get("id").asLong());
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(expenseRepository.findAllById(ids)).hasSize(2);
+
+        ProfileBalanceEntity balance = profileBalanceRepository.findById(profile.getId()).orElseThrow();
+        assertThat(balance.getTotalExpense()).isEqualByComparingTo("1280.00");
+        assertThat(balance.getExpenseCount()).isEqualTo(2L);
+
+        List<MonthlyCategoryRollupEntity> rollups = monthlyCategoryRollupRepository
+                .findForProfile(profile.getId(), "2026-03", "2026-03", "expense");
+        assertThat(rollups).hasSize(1);
+        assertRollup(rollups, "2026-03", housing, "1280.00", 2);
+    }
+
+    @Test
+    void batchWithAnotherProfilesCategoryIsRejectedWithoutInserting() throws Exception {
+        CategoryEntity foreign = createCategory(createProfile(), "Foreign", "income");
+        String body = "["
+                + transaction("Salary", "1000.00", "2026-01-05", salary) + ","
+                + transaction("Not mine", "5.00", "2026-01-06", foreign)
+                + "]";
+
+        mockMvc.perform(post("/incomes/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        assertThat(profileBalanceRepository.findById(profile.getId())).isEmpty();
+        assertThat(monthlyCategoryRollupRepository.findForProfile(profile.getId(), "2026-01", "2026-01", null))
+                .isEmpty();
+    }
+
+    @Test
+    void batchWithoutCategoryIdIsRejected() throws Exception {
+        mockMvc.perform(post("/incomes/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Salary\",\"amount\":1000.00,\"date\":\"2026-01-05\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertRollup(List<MonthlyCategoryRollupEntity> rollups, String month, CategoryEntity category,
+                              String total, long count) {
+        assertThat(rollups)
+                .filteredOn(rollup -> rollup.getYearMonth().equals(month)
+                        && rollup.getCategoryId().equals(category.getId()))
+                .singleElement()
+                .satisfies(rollup -> {
+                    assertThat(rollup.getTotalAmount()).isEqualByComparingTo(total);
+                    assertThat(rollup.getTxCount()).isEqualTo(count);
+                });
+    }
+
+    // Incomes and expenses share the JSON shape
+    private static String transaction(String name, String amount, String date, CategoryEntity category) {
+        return "{\"name\":\"" + name + "\",\"amount\":" + new BigDecimal(amount) + ",\"date\":\"" + date
+                + "\",\"categoryId\":" + category.getId() + "}";
+    }
+
+    private ProfileEntity createProfile() {
+        return profileRepository.save(ProfileEntity.builder()
+                .fullName("Batch Insert")
+                .email("batch-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .isActive(true)
+                .build());
+    }
+
+    private CategoryEntity createCategory(ProfileEntity owner, String name, String type) {
+        return categoryRepository.save(CategoryEntity.builder()
+                .name(name).type(type).icon("📁").profile(owner).build());
+    }
+}
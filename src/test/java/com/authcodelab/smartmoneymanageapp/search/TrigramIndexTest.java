@@ -0,0 +1,120 @@
+package com.authcodelab.smartmoneymanageapp.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private static final LocalDate FROM = LocalDate.of(1900, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2100, 12, 31);
+    private static final LocalDate JAN = LocalDate.of(2026, 1, 15);
+
+    @Test
+    void trigramKeywordMatchesSubstringsCaseInsensitively() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Monthly Rent", JAN, 10, "Housing");
+        index.add(2, "Parent gift", JAN, 11, "Gifts");
+        index.add(3, "Groceries", JAN, 12, "Food");
+
+        assertThat(index.search("RENT", FROM, TO)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("rent gift", FROM, TO)).containsExactly(2L);
+        assertThat(index.search("rental", FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void trigramsMustAppearInOrderNotJustAnywhere() {
+        TrigramIndex index = new TrigramIndex(4);
+        // Contains the trigrams "abc" and "bcd" but not the substring "abcd"
+        index.add(1, "abc bcd", JAN, 10, "Misc");
+        index.add(2, "xabcdx", JAN, 10, "Misc");
+
+        assertThat(index.search("abcd", FROM, TO)).containsExactly(2L);
+    }
+
+    @Test
+    void shortKeywordsScanTheNames() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Tax", JAN, 10, "Bills");
+        index.add(2, "Taxi", JAN, 11, "Transport");
+        index.add(3, "Coffee", JAN, 12, "Food");
+
+        assertThat(index.search("ta", FROM, TO)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("x", FROM, TO)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("q", FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void categoryNameMatchesEveryTransactionOfTheCategory() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Monthly payment", JAN, 10, "Housing");
+        index.add(2, "Deposit", JAN, 10, "Housing");
+        index.add(3, "Bus ticket", JAN, 11, "Transport");
+
+        assertThat(index.search("housing", FROM, TO)).containsExactlyInAnyOrder(1L, 2L);
+        // Short keyword path: category "Transport" contains "po", name "Deposit" does too
+        assertThat(index.search("po", FROM, TO)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void searchIsLimitedToTheDateRange() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Rent", LocalDate.of(2026, 1, 1), 10, "Housing");
+        index.add(2, "Rent", LocalDate.of(2026, 2, 1), 10, "Housing");
+        index.add(3, "Rent", LocalDate.of(2026, 3, 1), 10, "Housing");
+
+        assertThat(index.search("rent", LocalDate.of(2026, 1, 15), LocalDate.of(2026, 3, 1)))
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void removedTransactionsAreTombstonedAndCanBeAddedAgain() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Rent", JAN, 10, "Housing");
+        index.add(2, "Rent", JAN, 10, "Housing");
+
+        index.remove(1);
+        assertThat(index.search("rent", FROM, TO)).containsExactly(2L);
+        assertThat(index.search("re", FROM, TO)).containsExactly(2L);
+        assertThat(index.search("housing", FROM, TO)).containsExactly(2L);
+
+        index.add(1, "Rent again", JAN, 10, "Housing");
+        assertThat(index.search("rent", FROM, TO)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("again", FROM, TO)).containsExactly(1L);
+
+        // Removing an unknown id is a no-op
+        index.remove(99);
+        assertThat(index.search("rent", FROM, TO)).hasSize(2);
+    }
+
+    @Test
+    void addingAnIndexedIdAgainIsANoOp() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(1, "Rent", JAN, 10, "Housing");
+        index.add(1, "Other name", JAN, 10, "Housing");
+
+        assertThat(index.search("rent", FROM, TO)).containsExactly(1L);
+        assertThat(index.search("other", FROM, TO)).isEmpty();
+    }
+
+    @Test
+    void tablesGrowBeyondTheExpectedSize() {
+        // Far more documents, ids, trigrams and categories than the initial capacity of 16
+        TrigramIndex index = new TrigramIndex(0);
+        long sizeBefore = index.estimatedBytes();
+        int count = 5_000;
+        for (int i = 0; i < count; i++) {
+            index.add(1_000_000L + i, "item-" + i + " ref" + Integer.toHexString(i * 7919), JAN,
+                    i % 40, "category " + (i % 40));
+        }
+
+        for (int i = 0; i < count; i += 97) {
+            assertThat(index.search("item-" + i + " ", FROM, TO)).containsExactly(1_000_000L + i);
+        }
+        assertThat(index.search("item-", FROM, TO)).hasSize(count);
+        assertThat(index.search("category 39", FROM, TO)).hasSize(count / 40);
+        assertThat(index.estimatedBytes()).isGreaterThan(sizeBefore);
+    }
+}
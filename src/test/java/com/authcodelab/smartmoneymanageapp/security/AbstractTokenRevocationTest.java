@@ -0,0 +1,67 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import com.authcodelab.smartmoneymanageapp.entity.ProfileEntity;
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import com.authcodelab.smartmoneymanageapp.util.JwtUtill;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /tokens/revoke must reject the tokens issued before it on the very next request. Run in both
+ * authentication modes by the subclasses (jwt.stateless.enabled).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class AbstractTokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtill jwtUtill;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Test
+    void revokedTokenIsRejectedOnTheNextRequest() throws Exception {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Token Revocation")
+                .email("revoke-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .isActive(true)
+                .build());
+        String oldToken = token(profile, 0);
+
+        // Also caches the user details (and their token version) in the user-details mode
+        mockMvc.perform(get("/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/tokens/revoke").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + token(profile, 1)))
+                .andExpect(status().isOk());
+    }
+
+    private String token(ProfileEntity profile, int tokenVersion) {
+        return jwtUtill.generateToken(Map.of(
+                JwtUtill.CLAIM_PROFILE_ID, profile.getId(),
+                JwtUtill.CLAIM_TOKEN_VERSION, tokenVersion), profile.getEmail());
+    }
+}
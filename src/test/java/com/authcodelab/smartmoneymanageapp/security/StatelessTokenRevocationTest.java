@@ -0,0 +1,8 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Requests authenticated from the token claims and TokenVersionRegistry alone
+@TestPropertySource(properties = "jwt.stateless.enabled=true")
+class StatelessTokenRevocationTest extends AbstractTokenRevocationTest {
+}
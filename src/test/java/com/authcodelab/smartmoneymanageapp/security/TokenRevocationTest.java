@@ -0,0 +1,8 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Requests authenticated through the (cached) user details
+@TestPropertySource(properties = "jwt.stateless.enabled=false")
+class TokenRevocationTest extends AbstractTokenRevocationTest {
+}
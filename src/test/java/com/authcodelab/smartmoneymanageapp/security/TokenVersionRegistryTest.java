@@ -0,0 +1,54 @@
+package com.authcodelab.smartmoneymanageapp.security;
+
+import com.authcodelab.smartmoneymanageapp.repository.ProfileRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+    private final TokenVersionRegistry registry = new TokenVersionRegistry(profileRepository);
+
+    @Test
+    void refreshThatReadTheTableBeforeALocalRevocationDoesNotUndoIt() {
+        when(profileRepository.findRevokedTokenVersions()).thenReturn(List.of(view(3, 2)));
+        registry.refresh();
+
+        // Revocation committed and applied locally after the next refresh read the table
+        registry.update(7, 1);
+        registry.refresh();
+
+        assertThat(registry.isCurrent(7, 0)).isFalse();
+        assertThat(registry.isCurrent(7, 1)).isTrue();
+        assertThat(registry.isCurrent(3, 1)).isFalse();
+        assertThat(registry.isCurrent(3, 2)).isTrue();
+    }
+
+    @Test
+    void refreshRaisesVersionsRevokedOnOtherNodes() {
+        when(profileRepository.findRevokedTokenVersions()).thenReturn(List.of(view(3, 1)));
+        registry.refresh();
+        registry.update(5, 1);
+
+        when(profileRepository.findRevokedTokenVersions()).thenReturn(List.of(view(3, 4), view(5, 1), view(9, 2)));
+        registry.refresh();
+
+        assertThat(registry.isCurrent(3, 3)).isFalse();
+        assertThat(registry.isCurrent(3, 4)).isTrue();
+        assertThat(registry.isCurrent(5, 0)).isFalse();
+        assertThat(registry.isCurrent(9, 1)).isFalse();
+        assertThat(registry.isCurrent(11, 0)).isTrue();
+    }
+
+    private static ProfileRepository.TokenVersionView view(long id, int tokenVersion) {
+        ProfileRepository.TokenVersionView view = mock(ProfileRepository.TokenVersionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getTokenVersion()).thenReturn(tokenVersion);
+        return view;
+    }
+}